@@ -0,0 +1,39 @@
+package me.luucka.extendlibrary.benchmark;
+
+import me.luucka.extendlibrary.util.EnumCompleter;
+import me.luucka.extendlibrary.util.EnumUtil;
+import org.bukkit.Material;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EnumUtilBenchmark {
+
+    @Benchmark
+    public Material valueOfHit() {
+        return EnumUtil.valueOf(Material.class, "DIAMOND_SWORD");
+    }
+
+    @Benchmark
+    public Material valueOfMiss() {
+        // legacy name first, the common case of alias lists
+        return EnumUtil.valueOf(Material.class, "MOB_SPAWNER_ITEM", "SPAWNER");
+    }
+
+    @Benchmark
+    public Material match() {
+        return EnumUtil.match(Material.class, "minecraft:Diamond-Sword");
+    }
+
+    @Benchmark
+    public List<String> complete() {
+        return EnumCompleter.materials().complete("diamond_", 20);
+    }
+}
@@ -0,0 +1,77 @@
+package me.luucka.extendlibrary.benchmark;
+
+import me.luucka.extendlibrary.TestServer;
+import me.luucka.extendlibrary.item.ItemBatch;
+import me.luucka.extendlibrary.item.ItemSpec;
+import me.luucka.extendlibrary.util.ItemBuilder;
+import me.luucka.extendlibrary.util.MMColor;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ItemBuilder construction and build, and a 54 slot page built slot by slot or through an {@link ItemBatch}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemBuilderBenchmark {
+
+    private static final int PAGE = 54;
+
+    private Component name;
+    private List<Component> lore;
+    private ItemBuilder builder;
+    private ItemSpec spec;
+
+    @Setup
+    public void setup() {
+        TestServer.install();
+        name = MMColor.toComponent("<aqua>Diamond Sword");
+        lore = MMColor.toComponent("<gray>A sharp sword", "<gray>Price: <yellow>100");
+        builder = new ItemBuilder(Material.DIAMOND_SWORD).setDisplayName(name).setLore(lore);
+        spec = new ItemSpec(Material.DIAMOND_SWORD)
+                .setDisplayName("<aqua>Sword #<slot>")
+                .setLore(List.of("<gray>A sharp sword", "<gray>Price: <yellow><price>"))
+                .addPlaceholders("slot", "price");
+    }
+
+    @Benchmark
+    public ItemBuilder construct() {
+        return new ItemBuilder(Material.DIAMOND_SWORD).setDisplayName(name).setLore(lore);
+    }
+
+    @Benchmark
+    public ItemStack build() {
+        return builder.build();
+    }
+
+    @Benchmark
+    public ItemStack[] pageBySlot() {
+        final ItemStack[] items = new ItemStack[PAGE];
+        for (int slot = 0; slot < PAGE; slot++) {
+            items[slot] = new ItemBuilder(Material.DIAMOND_SWORD)
+                    .setDisplayName(MMColor.toComponent("<aqua>Sword #" + slot))
+                    .setLore(MMColor.toComponent("<gray>A sharp sword", "<gray>Price: <yellow>" + slot * 10))
+                    .build();
+        }
+        return items;
+    }
+
+    @Benchmark
+    public ItemStack[] pageByBatch() {
+        final ItemBatch batch = new ItemBatch(PAGE);
+        for (int slot = 0; slot < PAGE; slot++) {
+            batch.set(slot, spec, Map.of("slot", String.valueOf(slot), "price", String.valueOf(slot * 10)));
+        }
+        return batch.build();
+    }
+}
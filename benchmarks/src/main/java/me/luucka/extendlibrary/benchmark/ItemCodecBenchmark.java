@@ -0,0 +1,78 @@
+package me.luucka.extendlibrary.benchmark;
+
+import me.luucka.extendlibrary.TestServer;
+import me.luucka.extendlibrary.item.codec.ItemStackCodec;
+import org.bukkit.Material;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saving and loading a store of stacks as YAML through {@code ConfigurationSerializable}, the current storage path,
+ * against {@link ItemStackCodec}.
+ * <p>
+ * The {@link TestServer} serializes a meta as an index into an in-memory table, so this measures the framing and
+ * the template dictionary of the codec against the YAML tree, not the server side serialization of the meta.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemCodecBenchmark {
+
+    @Param({"1000", "10000"})
+    private int size;
+
+    private ItemStack[] stacks;
+    private List<ItemStack> items;
+    private String yaml;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() {
+        TestServer.install();
+        // a store of listings: a few dozen templates in many amounts
+        final Material[] templates = Arrays.stream(Material.values())
+                .filter(material -> !material.isLegacy() && material.isItem() && !material.isAir())
+                .limit(48)
+                .toArray(Material[]::new);
+        stacks = new ItemStack[size];
+        for (int i = 0; i < size; i++) {
+            stacks[i] = new ItemStack(templates[i % templates.length], 1 + i % 64);
+        }
+        items = List.of(stacks);
+        yaml = saveYaml();
+        encoded = encode();
+    }
+
+    @Benchmark
+    public String saveYaml() {
+        final YamlConfiguration config = new YamlConfiguration();
+        config.set("items", items);
+        return config.saveToString();
+    }
+
+    @Benchmark
+    public List<?> loadYaml() throws InvalidConfigurationException {
+        final YamlConfiguration config = new YamlConfiguration();
+        config.loadFromString(yaml);
+        return config.getList("items");
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return ItemStackCodec.encode(stacks);
+    }
+
+    @Benchmark
+    public ItemStack[] decode() {
+        return ItemStackCodec.decode(encoded);
+    }
+}
@@ -0,0 +1,40 @@
+package me.luucka.extendlibrary.benchmark;
+
+import me.luucka.extendlibrary.util.MMColor;
+import net.kyori.adventure.text.Component;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MMColorBenchmark {
+
+    private static final String TEXT = "<gradient:gold:yellow><bold>Shop</bold></gradient> <gray>- <white>Buy <green>64x Diamond</green> for <yellow>$1,000</yellow>";
+
+    private Component component;
+
+    @Setup
+    public void setup() {
+        component = MMColor.toComponent(TEXT);
+    }
+
+    @Benchmark
+    public Component toComponent() {
+        return MMColor.toComponent(TEXT);
+    }
+
+    @Benchmark
+    public String toLegacy() {
+        return MMColor.toLegacy(component);
+    }
+
+    @Benchmark
+    public String toMMString() {
+        return MMColor.toMMString(component);
+    }
+}
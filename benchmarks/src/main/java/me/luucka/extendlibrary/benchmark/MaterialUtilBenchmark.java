@@ -0,0 +1,100 @@
+package me.luucka.extendlibrary.benchmark;
+
+import me.luucka.extendlibrary.util.EnumUtil;
+import me.luucka.extendlibrary.util.MaterialUtil;
+import org.bukkit.DyeColor;
+import org.bukkit.Material;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MaterialUtil predicates over a spread of materials, against the set lookups they replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MaterialUtilBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    private final Material[] materials = new Material[SAMPLES];
+    private Set<Material> signPosts;
+    private Set<Material> wallSigns;
+    private Set<Material> hangingSigns;
+    private Set<Material> wallHangingSigns;
+
+    @Setup
+    public void setup() {
+        final Material[] all = Material.values();
+        for (int i = 0; i < SAMPLES; i++) {
+            materials[i] = all[(int) ((i * 0x9E3779B97F4A7C15L >>> 1) % all.length)];
+        }
+        signPosts = EnumUtil.getAllMatching(Material.class, "OAK_SIGN", "SPRUCE_SIGN", "BIRCH_SIGN", "JUNGLE_SIGN",
+                "ACACIA_SIGN", "DARK_OAK_SIGN", "CRIMSON_SIGN", "WARPED_SIGN", "MANGROVE_SIGN", "CHERRY_SIGN", "BAMBOO_SIGN");
+        wallSigns = EnumUtil.getAllMatching(Material.class, "OAK_WALL_SIGN", "SPRUCE_WALL_SIGN", "BIRCH_WALL_SIGN",
+                "JUNGLE_WALL_SIGN", "ACACIA_WALL_SIGN", "DARK_OAK_WALL_SIGN", "CRIMSON_WALL_SIGN", "WARPED_WALL_SIGN",
+                "MANGROVE_WALL_SIGN", "CHERRY_WALL_SIGN", "BAMBOO_WALL_SIGN");
+        hangingSigns = EnumUtil.getAllMatching(Material.class, "OAK_HANGING_SIGN", "SPRUCE_HANGING_SIGN",
+                "BIRCH_HANGING_SIGN", "JUNGLE_HANGING_SIGN", "ACACIA_HANGING_SIGN", "DARK_OAK_HANGING_SIGN",
+                "CRIMSON_HANGING_SIGN", "WARPED_HANGING_SIGN", "MANGROVE_HANGING_SIGN", "CHERRY_HANGING_SIGN",
+                "BAMBOO_HANGING_SIGN");
+        wallHangingSigns = EnumUtil.getAllMatching(Material.class, "OAK_WALL_HANGING_SIGN", "SPRUCE_WALL_HANGING_SIGN",
+                "BIRCH_WALL_HANGING_SIGN", "JUNGLE_WALL_HANGING_SIGN", "ACACIA_WALL_HANGING_SIGN",
+                "DARK_OAK_WALL_HANGING_SIGN", "CRIMSON_WALL_HANGING_SIGN", "WARPED_WALL_HANGING_SIGN",
+                "MANGROVE_WALL_HANGING_SIGN", "CHERRY_WALL_HANGING_SIGN", "BAMBOO_WALL_HANGING_SIGN");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void isSign(final Blackhole blackhole) {
+        for (final Material material : materials) {
+            blackhole.consume(MaterialUtil.isSign(material));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void isSignBySets(final Blackhole blackhole) {
+        for (final Material material : materials) {
+            blackhole.consume(signPosts.contains(material) || wallSigns.contains(material)
+                    || hangingSigns.contains(material) || wallHangingSigns.contains(material));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void isHelmet(final Blackhole blackhole) {
+        for (final Material material : materials) {
+            blackhole.consume(MaterialUtil.isHelmet(material));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void getColorOf(final Blackhole blackhole) {
+        for (final Material material : materials) {
+            blackhole.consume(MaterialUtil.getColorOf(material));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void getColorOfByScan(final Blackhole blackhole) {
+        for (final Material material : materials) {
+            DyeColor found = DyeColor.WHITE;
+            for (final DyeColor color : DyeColor.values()) {
+                if (material.toString().contains(color.name())) {
+                    found = color;
+                    break;
+                }
+            }
+            blackhole.consume(found);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package me.luucka.extendlibrary.benchmark;
+
+import me.luucka.extendlibrary.message.MessageBuilder;
+import me.luucka.extendlibrary.message.serializer.*;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds a message the way {@code Message.from(key).with(...).build()} does, with 0, 3 and 10 placeholders.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageBenchmark {
+
+    @Param({"0", "3", "10"})
+    public int placeholders;
+
+    private final Map<Class<?>, TypeSerializer<?>> serializers = new HashMap<>();
+    private String message;
+    private String[] keys;
+
+    @Setup
+    public void setup() {
+        serializers.put(String.class, new StringSerializer());
+        serializers.put(Integer.class, new IntegerSerializer());
+        serializers.put(Double.class, new DoubleSerializer());
+        serializers.put(TextComponent.class, new ComponentSerializer());
+
+        final StringBuilder sb = new StringBuilder("<prefix> <gray>Welcome back");
+        keys = new String[placeholders];
+        for (int i = 0; i < placeholders; i++) {
+            keys[i] = "value" + i;
+            sb.append(" <yellow><").append(keys[i]).append("></yellow>");
+        }
+        message = sb.append(", have fun!").toString();
+    }
+
+    @Benchmark
+    public Component build() {
+        final MessageBuilder builder = new MessageBuilder(serializers, message, "<dark_gray>[<aqua>Server</aqua>]</dark_gray>");
+        for (int i = 0; i < keys.length; i++) {
+            builder.with(keys[i], (i & 1) == 0 ? "player" + i : (Object) i);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,23 @@
+package me.luucka.extendlibrary.benchmark;
+
+import me.luucka.extendlibrary.util.VersionUtil.ServerVersion;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServerVersionBenchmark {
+
+    @Param({"1.20.4-R0.1-SNAPSHOT", "1.20-R0.1-SNAPSHOT", "1.13.2"})
+    public String version;
+
+    @Benchmark
+    public ServerVersion fromString() {
+        return ServerVersion.fromString(version);
+    }
+}
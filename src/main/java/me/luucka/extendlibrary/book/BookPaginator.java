@@ -0,0 +1,194 @@
+package me.luucka.extendlibrary.book;
+
+import me.luucka.extendlibrary.metrics.CacheStats;
+import me.luucka.extendlibrary.metrics.Metrics;
+import me.luucka.extendlibrary.util.IReload;
+import me.luucka.extendlibrary.util.ItemBuilder;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.JoinConfiguration;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.format.TextDecoration;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * BookPaginator splits a long {@link Component} into book pages, ready for {@link ItemBuilder#setBookPages(List)}.
+ * <p>
+ * Text is measured with {@link GlyphWidths} and word-wrapped to the page width, keeping the style of every run.
+ * Explicit line breaks are kept, words longer than a line are broken. Results can be cached per (key, locale),
+ * {@link #reload()} drops the cache, e.g. after reloading the messages.
+ */
+@SuppressWarnings("unused")
+public class BookPaginator implements IReload {
+
+    public static final int PAGE_WIDTH = 114;
+    public static final int PAGE_LINES = 14;
+
+    private final int pageWidth;
+    private final int pageLines;
+    private final Map<CacheKey, List<Component>> cache = new ConcurrentHashMap<>();
+    private final CacheStats stats = Metrics.cache("book-pages");
+
+    public BookPaginator() {
+        this(PAGE_WIDTH, PAGE_LINES);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param pageWidth width of a line in pixels
+     * @param pageLines number of lines per page
+     */
+    public BookPaginator(final int pageWidth, final int pageLines) {
+        if (pageWidth <= 0 || pageLines <= 0) throw new IllegalArgumentException("Page size must be positive");
+        this.pageWidth = pageWidth;
+        this.pageLines = pageLines;
+    }
+
+    /**
+     * Return the cached pages of a text, paginating it on first use
+     *
+     * @param key    cache key, e.g. the message key
+     * @param locale locale of the text
+     * @param text   supplies the text on a cache miss
+     * @return the pages, immutable
+     */
+    public List<Component> paginate(final String key, final Locale locale, final Supplier<Component> text) {
+        final CacheKey cacheKey = new CacheKey(key, locale);
+        final List<Component> pages = cache.get(cacheKey);
+        if (pages != null) {
+            stats.hit();
+            return pages;
+        }
+        stats.miss();
+        return cache.computeIfAbsent(cacheKey, k -> paginate(text.get()));
+    }
+
+    /**
+     * Split a text into pages
+     *
+     * @param text the text
+     * @return the pages, immutable
+     */
+    public List<Component> paginate(final Component text) {
+        final Layout layout = new Layout();
+        flatten(text, Style.empty(), layout);
+        return layout.pages();
+    }
+
+    @Override
+    public void reload() {
+        cache.clear();
+    }
+
+    private static void flatten(final Component component, final Style parent, final Layout layout) {
+        final Style style = component.style().merge(parent, Style.Merge.Strategy.IF_ABSENT_ON_TARGET);
+        final String content = component instanceof TextComponent text
+                ? text.content()
+                : PlainTextComponentSerializer.plainText().serialize(component.children(List.of()));
+        layout.append(content, style);
+        for (final Component child : component.children()) {
+            flatten(child, style, layout);
+        }
+    }
+
+    private final class Layout {
+        private final List<Component> pages = new ArrayList<>();
+        private final List<Component> lines = new ArrayList<>();
+        private final List<Component> segments = new ArrayList<>();
+        private final StringBuilder run = new StringBuilder();
+        private Style runStyle = Style.empty();
+        private int lineWidth = 0;
+        private boolean wrapped = false;
+
+        private void append(final String text, final Style style) {
+            final boolean bold = style.decoration(TextDecoration.BOLD) == TextDecoration.State.TRUE;
+            int i = 0;
+            while (i < text.length()) {
+                final char c = text.charAt(i);
+                if (c == '\n') {
+                    endLine(false);
+                    i++;
+                } else if (c == ' ') {
+                    final int width = GlyphWidths.width(c, bold);
+                    if (lineWidth + width > pageWidth) {
+                        endLine(true); // the space becomes the line break
+                    } else if (lineWidth > 0 || !wrapped) {
+                        put(" ", style, width);
+                    }
+                    i++;
+                } else {
+                    int end = i;
+                    while (end < text.length() && text.charAt(end) != ' ' && text.charAt(end) != '\n') end++;
+                    word(text.substring(i, end), style, bold);
+                    i = end;
+                }
+            }
+        }
+
+        private void word(final String word, final Style style, final boolean bold) {
+            final int width = GlyphWidths.width(word, bold);
+            if (lineWidth + width <= pageWidth) {
+                put(word, style, width);
+                return;
+            }
+            if (width <= pageWidth && lineWidth > 0) {
+                endLine(true);
+                put(word, style, width);
+                return;
+            }
+            // longer than a line, break it where it overflows
+            for (int i = 0; i < word.length(); i++) {
+                final int charWidth = GlyphWidths.width(word.charAt(i), bold);
+                if (lineWidth + charWidth > pageWidth && lineWidth > 0) endLine(true);
+                put(String.valueOf(word.charAt(i)), style, charWidth);
+            }
+        }
+
+        private void put(final String text, final Style style, final int width) {
+            if (!style.equals(runStyle)) {
+                flushRun();
+                runStyle = style;
+            }
+            run.append(text);
+            lineWidth += width;
+        }
+
+        private void flushRun() {
+            if (run.isEmpty()) return;
+            segments.add(Component.text(run.toString(), runStyle));
+            run.setLength(0);
+        }
+
+        private void endLine(final boolean wrap) {
+            flushRun();
+            lines.add(segments.isEmpty() ? Component.empty() : Component.empty().children(segments));
+            segments.clear();
+            lineWidth = 0;
+            wrapped = wrap;
+            if (lines.size() == pageLines) endPage();
+        }
+
+        private void endPage() {
+            pages.add(Component.join(JoinConfiguration.newlines(), lines));
+            lines.clear();
+        }
+
+        private List<Component> pages() {
+            if (!run.isEmpty() || !segments.isEmpty()) endLine(false);
+            if (!lines.isEmpty()) endPage();
+            if (pages.isEmpty()) pages.add(Component.empty());
+            return List.copyOf(pages);
+        }
+    }
+
+    private record CacheKey(String key, Locale locale) {
+    }
+}
@@ -0,0 +1,65 @@
+package me.luucka.extendlibrary.book;
+
+import java.util.Arrays;
+
+/**
+ * GlyphWidths holds the advance, in pixels, of the glyphs of the default Minecraft font.
+ * <p>
+ * Widths include the 1 pixel spacing after the glyph, bold text is 1 pixel wider.
+ * The table covers the Basic Multilingual Plane and is built once, characters outside ASCII
+ * use {@link #DEFAULT_WIDTH}.
+ */
+@SuppressWarnings("unused")
+public final class GlyphWidths {
+
+    public static final int DEFAULT_WIDTH = 6;
+
+    private static final byte[] WIDTHS = new byte[Character.MAX_VALUE + 1];
+
+    static {
+        Arrays.fill(WIDTHS, (byte) DEFAULT_WIDTH);
+        set(2, "!',.:;i|");
+        set(3, "`l");
+        set(4, " It[]");
+        set(5, "\"()*<>fk{}");
+        set(7, "@~");
+        // control characters take no space
+        for (char c = 0; c < ' '; c++) WIDTHS[c] = 0;
+    }
+
+    private GlyphWidths() {
+    }
+
+    /**
+     * Return the advance of a character
+     *
+     * @param c    the character
+     * @param bold true if the character is bold
+     * @return the advance in pixels
+     */
+    public static int width(final char c, final boolean bold) {
+        final int width = WIDTHS[c];
+        return bold && width > 0 ? width + 1 : width;
+    }
+
+    /**
+     * Return the advance of a string
+     *
+     * @param text the string
+     * @param bold true if the string is bold
+     * @return the advance in pixels
+     */
+    public static int width(final CharSequence text, final boolean bold) {
+        int width = 0;
+        for (int i = 0; i < text.length(); i++) {
+            width += width(text.charAt(i), bold);
+        }
+        return width;
+    }
+
+    private static void set(final int width, final String chars) {
+        for (int i = 0; i < chars.length(); i++) {
+            WIDTHS[chars.charAt(i)] = (byte) width;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package me.luucka.extendlibrary.item;
+
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * InventoryScanner counts, finds and removes stacks matching an {@link ItemFingerprint}
+ * across one or more inventories.
+ * <p>
+ * Every slot is checked with {@link ItemFingerprint#matches(ItemStack)}: material, meta presence and the
+ * fingerprint value first, the full compare only for the slots left.
+ */
+@SuppressWarnings("unused")
+public final class InventoryScanner {
+
+    private InventoryScanner() {
+    }
+
+    /**
+     * Count the items matching a fingerprint
+     *
+     * @param fingerprint {@link ItemFingerprint} to look for
+     * @param inventories inventories to scan
+     * @return the total amount of matching items
+     */
+    public static int count(final ItemFingerprint fingerprint, final Inventory... inventories) {
+        int count = 0;
+        for (final Inventory inventory : inventories) {
+            count += count(fingerprint, inventory.getContents());
+        }
+        return count;
+    }
+
+    /**
+     * Count the items matching a fingerprint
+     *
+     * @param fingerprint {@link ItemFingerprint} to look for
+     * @param contents    stacks to scan, may contain null
+     * @return the total amount of matching items
+     */
+    public static int count(final ItemFingerprint fingerprint, final ItemStack[] contents) {
+        int count = 0;
+        for (final ItemStack item : contents) {
+            if (fingerprint.matches(item)) count += item.getAmount();
+        }
+        return count;
+    }
+
+    /**
+     * Check if the inventories contain at least the given amount of matching items
+     *
+     * @param fingerprint {@link ItemFingerprint} to look for
+     * @param amount      minimum amount
+     * @param inventories inventories to scan
+     * @return true if enough items are found
+     */
+    public static boolean containsAtLeast(final ItemFingerprint fingerprint, final int amount, final Inventory... inventories) {
+        if (amount <= 0) return true;
+        int count = 0;
+        for (final Inventory inventory : inventories) {
+            for (final ItemStack item : inventory.getContents()) {
+                if (fingerprint.matches(item) && (count += item.getAmount()) >= amount) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Find the first slot holding a matching item
+     *
+     * @param fingerprint {@link ItemFingerprint} to look for
+     * @param inventory   inventory to scan
+     * @return the slot index, or -1 if none matches
+     */
+    public static int first(final ItemFingerprint fingerprint, final Inventory inventory) {
+        final ItemStack[] contents = inventory.getContents();
+        for (int slot = 0; slot < contents.length; slot++) {
+            if (fingerprint.matches(contents[slot])) return slot;
+        }
+        return -1;
+    }
+
+    /**
+     * Remove up to the given amount of matching items, in inventory order
+     *
+     * @param fingerprint {@link ItemFingerprint} to look for
+     * @param amount      amount to remove
+     * @param inventories inventories to scan
+     * @return the amount actually removed
+     */
+    public static int remove(final ItemFingerprint fingerprint, final int amount, final Inventory... inventories) {
+        int remaining = amount;
+        for (final Inventory inventory : inventories) {
+            final ItemStack[] contents = inventory.getContents();
+            for (int slot = 0; slot < contents.length && remaining > 0; slot++) {
+                final ItemStack item = contents[slot];
+                if (!fingerprint.matches(item)) continue;
+                if (item.getAmount() <= remaining) {
+                    remaining -= item.getAmount();
+                    inventory.setItem(slot, null);
+                } else {
+                    item.setAmount(item.getAmount() - remaining);
+                    inventory.setItem(slot, item);
+                    remaining = 0;
+                }
+            }
+            if (remaining == 0) break;
+        }
+        return amount - remaining;
+    }
+}
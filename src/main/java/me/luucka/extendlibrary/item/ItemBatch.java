@@ -0,0 +1,164 @@
+package me.luucka.extendlibrary.item;
+
+import me.luucka.extendlibrary.util.ItemBuilder;
+import me.luucka.extendlibrary.util.MMColor;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.*;
+
+/**
+ * ItemBatch builds many {@link ItemStack} in one pass, e.g. a whole GUI page or kit.
+ * <p>
+ * Every distinct {@link ItemSpec} is built once into a base item, rows only clone it and re-render
+ * the lines that reference placeholders. Rendered lines are shared across the whole batch.
+ * <p>
+ * Not thread-safe.
+ */
+@SuppressWarnings("unused")
+public final class ItemBatch {
+
+    private final ItemSpec[] specs;
+    private final List<Map<String, String>> values;
+    private int cursor = 0;
+
+    /**
+     * Constructor
+     *
+     * @param size number of slots, e.g. {@link Inventory#getSize()}
+     */
+    public ItemBatch(final int size) {
+        this.specs = new ItemSpec[size];
+        this.values = new ArrayList<>(Collections.nCopies(size, Map.of()));
+    }
+
+    /**
+     * Put an item without placeholders in the next free slot
+     *
+     * @param spec {@link ItemSpec} of the item
+     */
+    public ItemBatch add(final ItemSpec spec) {
+        return add(spec, Map.of());
+    }
+
+    /**
+     * Put an item in the next free slot
+     *
+     * @param spec         {@link ItemSpec} of the item
+     * @param placeholders placeholder values of this row, inserted unparsed
+     * @throws IndexOutOfBoundsException if the batch is full
+     */
+    public ItemBatch add(final ItemSpec spec, final Map<String, String> placeholders) {
+        while (cursor < specs.length && specs[cursor] != null) cursor++;
+        return set(cursor, spec, placeholders);
+    }
+
+    /**
+     * Put an item in the given slot
+     *
+     * @param slot         slot index
+     * @param spec         {@link ItemSpec} of the item
+     * @param placeholders placeholder values of this row, inserted unparsed
+     * @throws IndexOutOfBoundsException if the slot is not in [0, size) range
+     */
+    public ItemBatch set(final int slot, final ItemSpec spec, final Map<String, String> placeholders) {
+        Objects.checkIndex(slot, specs.length);
+        specs[slot] = spec;
+        values.set(slot, placeholders);
+        return this;
+    }
+
+    /**
+     * Build every slot
+     *
+     * @return an array ready for {@link Inventory#setContents(ItemStack[])}, empty slots are null
+     */
+    public ItemStack[] build() {
+        final Map<ItemSpec, CompiledSpec> compiled = new IdentityHashMap<>();
+        final Map<String, Component> lineCache = new HashMap<>();
+        final ItemStack[] items = new ItemStack[specs.length];
+        for (int slot = 0; slot < specs.length; slot++) {
+            final ItemSpec spec = specs[slot];
+            if (spec == null) continue;
+            items[slot] = compiled.computeIfAbsent(spec, CompiledSpec::new).render(values.get(slot), lineCache);
+        }
+        return items;
+    }
+
+    private static final class CompiledSpec {
+        private final ItemStack base;
+        private final Line name;
+        private final Line[] lore;
+        private final boolean dynamic;
+
+        private CompiledSpec(final ItemSpec spec) {
+            this.name = spec.getDisplayName() == null ? null : new Line(spec.getDisplayName(), spec.getPlaceholders());
+            this.lore = spec.getLore().stream().map(line -> new Line(line, spec.getPlaceholders())).toArray(Line[]::new);
+
+            boolean dynamicLore = false;
+            for (final Line line : lore) dynamicLore |= line.isDynamic();
+            this.dynamic = (name != null && name.isDynamic()) || dynamicLore;
+
+            final ItemBuilder builder = new ItemBuilder(spec.getMaterial(), spec.getAmount());
+            if (name != null && !name.isDynamic()) builder.setDisplayName(name.component);
+            if (lore.length > 0 && !dynamicLore) builder.setLore(Arrays.stream(lore).map(line -> line.component).toList());
+            if (spec.getCustomizer() != null) spec.getCustomizer().accept(builder);
+            this.base = builder.build();
+        }
+
+        private ItemStack render(final Map<String, String> values, final Map<String, Component> lineCache) {
+            final ItemStack item = base.clone();
+            if (!dynamic) return item;
+
+            final ItemMeta meta = item.getItemMeta();
+            if (meta == null) return item;
+            final TagResolver resolver = resolverOf(values);
+            if (name != null && name.isDynamic()) {
+                meta.displayName(name.render(values, resolver, lineCache));
+            }
+            final List<Component> lines = new ArrayList<>(lore.length);
+            for (final Line line : lore) {
+                lines.add(line.render(values, resolver, lineCache));
+            }
+            if (!lines.isEmpty()) meta.lore(lines);
+            item.setItemMeta(meta);
+            return item;
+        }
+
+        private static TagResolver resolverOf(final Map<String, String> values) {
+            final TagResolver.Builder builder = TagResolver.builder();
+            values.forEach((key, value) -> builder.resolver(Placeholder.unparsed(key, value)));
+            return builder.build();
+        }
+    }
+
+    private static final class Line {
+        private final String raw;
+        private final String[] keys;
+        private final Component component;
+
+        private Line(final String raw, final Set<String> placeholders) {
+            this.raw = raw;
+            this.keys = Placeholders.referencedBy(raw, placeholders);
+            this.component = keys.length == 0 ? MMColor.toComponent(raw) : null;
+        }
+
+        private boolean isDynamic() {
+            return component == null;
+        }
+
+        private Component render(final Map<String, String> values, final TagResolver resolver, final Map<String, Component> lineCache) {
+            if (component != null) return component;
+            final StringBuilder key = new StringBuilder(raw);
+            for (final String placeholder : keys) {
+                key.append('\0').append(values.get(placeholder));
+            }
+            return lineCache.computeIfAbsent(key.toString(), k -> MiniMessage.miniMessage().deserialize(raw, resolver));
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package me.luucka.extendlibrary.item;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Map;
+
+/**
+ * ItemFingerprint is a precomputed 64-bit hash of an item (material and the data a server stack answers
+ * without building an {@link org.bukkit.inventory.meta.ItemMeta}, amount ignored).
+ * <p>
+ * Two stacks that are {@link ItemStack#isSimilar(ItemStack) similar} always have the same fingerprint.
+ * {@link #matches(ItemStack)} rejects most stacks on material, meta presence and fingerprint, and only runs the
+ * full compare when the fingerprints collide. The full compare goes through a server-backed copy of the item,
+ * which compares the raw item data without copying any meta.
+ * <p>
+ * Fingerprints are stable for the lifetime of the server, do not persist them.
+ */
+@SuppressWarnings("unused")
+public final class ItemFingerprint {
+
+    private final Material material;
+    private final boolean hasMeta;
+    private final ItemStack reference;
+    private final long value;
+
+    private ItemFingerprint(final ItemStack item) {
+        this.material = item.getType();
+        this.hasMeta = item.hasItemMeta();
+        this.reference = serverCopy(item.asOne());
+        this.value = hash(item);
+    }
+
+    /**
+     * Compute the fingerprint of a stack
+     *
+     * @param item {@link ItemStack} to fingerprint
+     * @return the {@link ItemFingerprint}
+     */
+    public static ItemFingerprint of(final ItemStack item) {
+        return new ItemFingerprint(item);
+    }
+
+    /**
+     * Compute the 64-bit value of a stack without keeping it, does not copy the meta
+     *
+     * @param item {@link ItemStack} to hash
+     * @return the fingerprint value
+     */
+    public static long valueOf(final ItemStack item) {
+        return hash(item);
+    }
+
+    /**
+     * Check if the given stack is similar to the fingerprinted item
+     *
+     * @param item {@link ItemStack} to check, may be null
+     * @return true if the stack is similar, amount is ignored
+     */
+    public boolean matches(final ItemStack item) {
+        if (item == null || item.getType() != material) return false;
+        if (item.hasItemMeta() != hasMeta) return false;
+        if (!hasMeta) return true;
+        return hash(item) == value && reference.isSimilar(item);
+    }
+
+    public Material getMaterial() {
+        return material;
+    }
+
+    public long getValue() {
+        return value;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ItemFingerprint that)) return false;
+        return value == that.value && material == that.material && hasMeta == that.hasMeta
+                && (!hasMeta || reference.isSimilar(that.reference));
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(value);
+    }
+
+    @Override
+    public String toString() {
+        return material + "#" + Long.toHexString(value);
+    }
+
+    // server stacks compare their raw data in isSimilar, plain Bukkit stacks go through the meta
+    private static ItemStack serverCopy(final ItemStack item) {
+        try {
+            final ItemStack copy = Bukkit.getItemFactory().ensureServerConversions(item);
+            return copy != null ? copy : item;
+        } catch (final UnsupportedOperationException e) {
+            return item;
+        }
+    }
+
+    // only fields equal on similar items and read from the stack itself, a server stack answers them
+    // from its item data without building an ItemMeta; whatever is left out is settled by the full compare
+    @SuppressWarnings("deprecation")
+    private static long hash(final ItemStack item) {
+        long h = mix(item.getType().ordinal() + 1L);
+        if (!item.hasItemMeta()) return h;
+        h = mix(h ^ (0x10000L | (item.getDurability() & 0xFFFFL)));
+
+        // unordered, combined with a commutative sum
+        long enchants = 0;
+        for (final Map.Entry<Enchantment, Integer> enchant : item.getEnchantments().entrySet()) {
+            enchants += mix(hash(enchant.getKey().getKey().toString()) ^ enchant.getValue());
+        }
+        return mix(h ^ mix(enchants + 1));
+    }
+
+    // FNV-1a over the chars
+    private static long hash(final String string) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < string.length(); i++) {
+            h = (h ^ string.charAt(i)) * 0x100000001B3L;
+        }
+        return h;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
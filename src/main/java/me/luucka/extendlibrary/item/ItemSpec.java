@@ -0,0 +1,116 @@
+package me.luucka.extendlibrary.item;
+
+import me.luucka.extendlibrary.util.ItemBuilder;
+import org.bukkit.Material;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * ItemSpec describes an item of an {@link ItemBatch}: material, amount, MiniMessage display name and lore.
+ * <p>
+ * Display name and lore lines can reference the placeholders declared with {@link #addPlaceholders(String...)},
+ * every other line is parsed only once per batch.
+ */
+@SuppressWarnings("unused")
+public final class ItemSpec {
+
+    private final Material material;
+    private int amount = 1;
+    private String displayName;
+    private List<String> lore = List.of();
+    private final Set<String> placeholders = new HashSet<>();
+    private Consumer<ItemBuilder> customizer;
+
+    /**
+     * Constructor
+     *
+     * @param material {@link Material} representing the item
+     */
+    public ItemSpec(final Material material) {
+        this.material = Objects.requireNonNull(material, "material");
+    }
+
+    /**
+     * Set the amount of the item
+     *
+     * @param amount of the items will give you
+     */
+    public ItemSpec setAmount(final int amount) {
+        this.amount = amount;
+        return this;
+    }
+
+    /**
+     * Set item display name
+     *
+     * @param displayName MiniMessage {@link String}
+     */
+    public ItemSpec setDisplayName(final String displayName) {
+        this.displayName = displayName;
+        return this;
+    }
+
+    /**
+     * Set the lore of the item
+     *
+     * @param lore list of MiniMessage {@link String}
+     */
+    public ItemSpec setLore(final List<String> lore) {
+        this.lore = List.copyOf(lore);
+        return this;
+    }
+
+    /**
+     * Set the lore of the item
+     *
+     * @param lore MiniMessage {@link String} lines
+     */
+    public ItemSpec setLore(final String... lore) {
+        return setLore(List.of(lore));
+    }
+
+    /**
+     * Declare the placeholder keys used by display name and lore
+     *
+     * @param keys placeholder keys, without angle brackets
+     */
+    public ItemSpec addPlaceholders(final String... keys) {
+        this.placeholders.addAll(Arrays.asList(keys));
+        return this;
+    }
+
+    /**
+     * Apply additional static properties (enchantments, flags, ...) to the shared base item
+     *
+     * @param customizer action applied to the {@link ItemBuilder} of the base item
+     */
+    public ItemSpec customize(final Consumer<ItemBuilder> customizer) {
+        this.customizer = customizer;
+        return this;
+    }
+
+    Material getMaterial() {
+        return material;
+    }
+
+    int getAmount() {
+        return amount;
+    }
+
+    String getDisplayName() {
+        return displayName;
+    }
+
+    List<String> getLore() {
+        return lore;
+    }
+
+    Set<String> getPlaceholders() {
+        return placeholders;
+    }
+
+    Consumer<ItemBuilder> getCustomizer() {
+        return customizer;
+    }
+}
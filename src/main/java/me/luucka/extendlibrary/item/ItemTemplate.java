@@ -0,0 +1,99 @@
+package me.luucka.extendlibrary.item;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.List;
+
+/**
+ * ItemTemplate is an immutable, precompiled item: material, meta and parsed components are
+ * resolved once, {@link #build()} only clones the compiled {@link ItemStack}.
+ */
+@SuppressWarnings("unused")
+public final class ItemTemplate {
+
+    private final String id;
+    private final ItemStack item;
+    private final Component displayName;
+    private final List<Component> lore;
+    private volatile ItemFingerprint fingerprint;
+
+    public ItemTemplate(final String id, final ItemStack item, final Component displayName, final List<Component> lore) {
+        this.id = id;
+        this.item = item.clone();
+        this.displayName = displayName;
+        this.lore = lore == null ? List.of() : List.copyOf(lore);
+    }
+
+    /**
+     * Return a new {@link ItemStack} of this template
+     *
+     * @return an {@link ItemStack}
+     */
+    public ItemStack build() {
+        return item.clone();
+    }
+
+    /**
+     * Return a new {@link ItemStack} of this template with the given amount
+     *
+     * @param amount of the items will give you
+     * @return an {@link ItemStack}
+     */
+    public ItemStack build(final int amount) {
+        final ItemStack stack = item.clone();
+        stack.setAmount(amount <= 0 ? 1 : amount);
+        return stack;
+    }
+
+    /**
+     * Return the fingerprint of this template, computed on first use
+     *
+     * @return the {@link ItemFingerprint}
+     */
+    public ItemFingerprint getFingerprint() {
+        ItemFingerprint current = fingerprint;
+        if (current == null) {
+            current = ItemFingerprint.of(item);
+            fingerprint = current;
+        }
+        return current;
+    }
+
+    /**
+     * Check if the given stack was built from this template, amount is ignored
+     *
+     * @param stack {@link ItemStack} to check, may be null
+     * @return true if the stack is similar to this template
+     */
+    public boolean matches(final ItemStack stack) {
+        return getFingerprint().matches(stack);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Material getMaterial() {
+        return item.getType();
+    }
+
+    public int getAmount() {
+        return item.getAmount();
+    }
+
+    /**
+     * @return the parsed display name, or null if the template has none
+     */
+    public Component getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * @return the parsed lore, never null
+     */
+    public List<Component> getLore() {
+        return lore;
+    }
+}
@@ -0,0 +1,175 @@
+package me.luucka.extendlibrary.item;
+
+import me.luucka.extendlibrary.item.exception.UnknownItemTemplateException;
+import me.luucka.extendlibrary.util.EnumUtil;
+import me.luucka.extendlibrary.util.IStagedReload;
+import me.luucka.extendlibrary.util.ItemBuilder;
+import me.luucka.extendlibrary.util.MMColor;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemFlag;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.File;
+import java.util.*;
+import java.util.logging.Level;
+
+/**
+ * ItemTemplateRegistry loads item definitions from YAML files in the plugin data folder and
+ * compiles each one into an {@link ItemTemplate}.
+ * <p>
+ * Every top level section is an item:
+ * <pre>
+ * diamond-sword:
+ *   material: DIAMOND_SWORD
+ *   amount: 1
+ *   name: "&lt;aqua&gt;Sword"
+ *   lore:
+ *     - "&lt;gray&gt;A sharp sword"
+ *   enchantments:
+ *     sharpness: 5
+ *   flags: [HIDE_ENCHANTS]
+ *   unbreakable: true
+ *   custom-model-data: 1001
+ * </pre>
+ * {@link #reload()} compiles a complete new table before swapping it in, readers never see half-built templates.
+ * With a {@link me.luucka.extendlibrary.util.ReloadOrchestrator} the table is compiled off the main thread.
+ */
+@SuppressWarnings("unused")
+public class ItemTemplateRegistry implements IStagedReload<Map<String, ItemTemplate>> {
+
+    private final JavaPlugin plugin;
+
+    private final List<String> fileNames;
+
+    private volatile Map<String, ItemTemplate> templates = Map.of();
+
+    public ItemTemplateRegistry(final JavaPlugin plugin, final String... fileNames) {
+        this.plugin = plugin;
+        this.fileNames = List.of(fileNames);
+        saveFiles();
+        reload();
+    }
+
+    private void saveFiles() {
+        for (final String fileName : fileNames) {
+            final File file = new File(plugin.getDataFolder(), fileName + ".yml");
+            if (!file.exists() && plugin.getResource(fileName + ".yml") != null) {
+                plugin.saveResource(fileName + ".yml", false);
+            }
+        }
+    }
+
+    @Override
+    public Map<String, ItemTemplate> prepare(final Dependencies dependencies) {
+        final Map<String, ItemTemplate> compiled = new HashMap<>();
+        for (final String fileName : fileNames) {
+            final File file = new File(plugin.getDataFolder(), fileName + ".yml");
+            if (!file.exists()) {
+                plugin.getLogger().log(Level.WARNING, "Item template file " + file + " does not exist");
+                continue;
+            }
+            final YamlConfiguration config = YamlConfiguration.loadConfiguration(file);
+            for (final String id : config.getKeys(false)) {
+                final ConfigurationSection section = config.getConfigurationSection(id);
+                if (section == null) continue;
+                if (compiled.containsKey(id)) {
+                    plugin.getLogger().log(Level.WARNING, "Duplicate item template " + id + " in " + file + ", skipped");
+                    continue;
+                }
+                try {
+                    compiled.put(id, compile(id, section));
+                } catch (final IllegalArgumentException e) {
+                    plugin.getLogger().log(Level.SEVERE, "Invalid item template " + id + " in " + file + ": " + e.getMessage());
+                }
+            }
+        }
+        return Map.copyOf(compiled);
+    }
+
+    @Override
+    public Map<String, ItemTemplate> publish(final Map<String, ItemTemplate> templates) {
+        final Map<String, ItemTemplate> previous = this.templates;
+        this.templates = templates;
+        return previous;
+    }
+
+    /**
+     * Return the template with the given id
+     *
+     * @param id template id
+     * @return the {@link ItemTemplate}
+     * @throws UnknownItemTemplateException if no template has the given id
+     */
+    public ItemTemplate get(final String id) throws UnknownItemTemplateException {
+        final ItemTemplate template = templates.get(id);
+        if (template == null) {
+            throw new UnknownItemTemplateException(id);
+        }
+        return template;
+    }
+
+    public boolean contains(final String id) {
+        return templates.containsKey(id);
+    }
+
+    /**
+     * @return an immutable snapshot of every loaded template id
+     */
+    public Set<String> getIds() {
+        return templates.keySet();
+    }
+
+    /**
+     * Compile a configuration section into an {@link ItemTemplate}
+     *
+     * @param id      template id
+     * @param section section holding the item definition
+     * @return the compiled {@link ItemTemplate}
+     * @throws IllegalArgumentException if the definition is not valid
+     */
+    protected ItemTemplate compile(final String id, final ConfigurationSection section) {
+        final String materialName = section.getString("material");
+        final Material material = materialName == null ? null : Material.matchMaterial(materialName);
+        if (material == null) {
+            throw new IllegalArgumentException("unknown material " + materialName);
+        }
+
+        final ItemBuilder builder = new ItemBuilder(material, section.getInt("amount", 1));
+
+        final Component displayName = section.contains("name") ? MMColor.toComponent(section.getString("name")) : null;
+        if (displayName != null) builder.setDisplayName(displayName);
+
+        final List<Component> lore = MMColor.toComponent(section.getStringList("lore"));
+        if (!lore.isEmpty()) builder.setLore(lore);
+
+        final ConfigurationSection enchantments = section.getConfigurationSection("enchantments");
+        if (enchantments != null) {
+            for (final String name : enchantments.getKeys(false)) {
+                final NamespacedKey key = NamespacedKey.fromString(name.toLowerCase(Locale.ROOT));
+                final Enchantment enchantment = key == null ? null : Enchantment.getByKey(key);
+                if (enchantment == null) {
+                    throw new IllegalArgumentException("unknown enchantment " + name);
+                }
+                builder.addUnsafeEnchantment(enchantment, enchantments.getInt(name, 1));
+            }
+        }
+
+        for (final String name : section.getStringList("flags")) {
+            final ItemFlag flag = EnumUtil.valueOf(ItemFlag.class, name.toUpperCase(Locale.ROOT));
+            if (flag == null) {
+                throw new IllegalArgumentException("unknown item flag " + name);
+            }
+            builder.addItemFlags(flag);
+        }
+
+        if (section.contains("unbreakable")) builder.setUnbreakable(section.getBoolean("unbreakable"));
+        if (section.contains("custom-model-data")) builder.setCustomModelData(section.getInt("custom-model-data"));
+
+        return new ItemTemplate(id, builder.build(), displayName, lore);
+    }
+}
@@ -0,0 +1,214 @@
+package me.luucka.extendlibrary.item;
+
+import me.luucka.extendlibrary.message.Message;
+import me.luucka.extendlibrary.message.MessageBuilder;
+import me.luucka.extendlibrary.metrics.CacheStats;
+import me.luucka.extendlibrary.metrics.Metrics;
+import me.luucka.extendlibrary.util.IStagedReload;
+import net.kyori.adventure.text.Component;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.*;
+
+/**
+ * MessageItemTemplate is an {@link ItemTemplate} whose display name and lore are {@link Message} keys,
+ * e.g. a GUI icon with "Your balance: &lt;balance&gt;" rendered for every viewer.
+ * <p>
+ * Lines that do not reference a declared placeholder are rendered once and shared with the base meta,
+ * only the other lines are rendered per call. Built items are cached per placeholder values (LRU),
+ * so rendering the same values again costs a clone.
+ * <p>
+ * Call {@link #reload()} after reloading the {@link Message} to drop stale lines. With a {@link me.luucka.extendlibrary.util.ReloadOrchestrator},
+ * register it as depending on the {@link Message}, the lines are then compiled from the prepared messages.
+ */
+@SuppressWarnings("unused")
+public class MessageItemTemplate implements IStagedReload<MessageItemTemplate.Compiled> {
+
+    public static final int DEFAULT_CACHE_SIZE = 256;
+
+    private final ItemTemplate base;
+    private final Message message;
+    private final String nameKey;
+    private final List<String> loreKeys;
+    private final Set<String> placeholders;
+
+    private final Map<Map<String, Object>, ItemStack> cache;
+    private final CacheStats stats = Metrics.cache("message-item-templates");
+
+    private volatile Compiled compiled;
+
+    /**
+     * Constructor
+     *
+     * @param base         {@link ItemTemplate} providing material and base meta
+     * @param message      {@link Message} holding the lines
+     * @param nameKey      message key of the display name, or null to keep the base one
+     * @param loreKeys     message keys of the lore lines, empty to keep the base lore
+     * @param placeholders placeholder keys that change between renders
+     */
+    public MessageItemTemplate(final ItemTemplate base, final Message message, final String nameKey, final List<String> loreKeys, final String... placeholders) {
+        this(base, message, nameKey, loreKeys, DEFAULT_CACHE_SIZE, placeholders);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param base         {@link ItemTemplate} providing material and base meta
+     * @param message      {@link Message} holding the lines
+     * @param nameKey      message key of the display name, or null to keep the base one
+     * @param loreKeys     message keys of the lore lines, empty to keep the base lore
+     * @param cacheSize    maximum number of cached items, 0 to disable the cache
+     * @param placeholders placeholder keys that change between renders
+     */
+    public MessageItemTemplate(final ItemTemplate base, final Message message, final String nameKey, final List<String> loreKeys, final int cacheSize, final String... placeholders) {
+        this.base = base;
+        this.message = message;
+        this.nameKey = nameKey;
+        this.loreKeys = List.copyOf(loreKeys);
+        this.placeholders = Set.of(placeholders);
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Map<String, Object>, ItemStack> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Return a new {@link ItemStack} without placeholder values
+     *
+     * @return an {@link ItemStack}
+     */
+    public ItemStack render() {
+        return render(Map.of());
+    }
+
+    /**
+     * Return a new {@link ItemStack} rendered with the given placeholder values.
+     * Values are passed to {@link MessageBuilder#with(String, Object)}.
+     *
+     * @param values placeholder values, must implement equals and hashCode, null values are skipped
+     * @return an {@link ItemStack}
+     */
+    public ItemStack render(final Map<String, ?> values) {
+        ItemStack item;
+        synchronized (cache) {
+            item = cache.get(values);
+        }
+        if (item == null) {
+            stats.miss();
+            final Compiled current = compiled();
+            item = current.render(values);
+            synchronized (cache) {
+                // a publish in between cleared the cache, do not put an item of the old lines back
+                if (compiled == current) cache.put(Collections.unmodifiableMap(new HashMap<>(values)), item);
+            }
+        } else {
+            stats.hit();
+        }
+        return item.clone();
+    }
+
+    public ItemTemplate getBase() {
+        return base;
+    }
+
+    @Override
+    public Compiled prepare(final Dependencies dependencies) {
+        final Message.Bundle bundle = dependencies.get(message);
+        return new Compiled(bundle != null ? bundle : message.getBundle());
+    }
+
+    @Override
+    public Compiled publish(final Compiled state) {
+        synchronized (cache) {
+            final Compiled previous = compiled;
+            compiled = state;
+            cache.clear();
+            return previous;
+        }
+    }
+
+    private Compiled compiled() {
+        final Compiled current = compiled;
+        if (current != null) return current;
+        final Compiled created = new Compiled(message.getBundle());
+        synchronized (cache) {
+            // keep a state published while compiling
+            if (compiled == null) compiled = created;
+            return compiled;
+        }
+    }
+
+    /**
+     * The lines of the template compiled against a {@link Message.Bundle}.
+     */
+    public final class Compiled {
+        private final ItemStack item;
+        private final Line name;
+        private final Line[] lore;
+        private final boolean dynamicName;
+        private final boolean dynamicLore;
+
+        private Compiled(final Message.Bundle bundle) {
+            this.name = nameKey == null ? null : new Line(bundle, nameKey);
+            this.lore = loreKeys.stream().map(key -> new Line(bundle, key)).toArray(Line[]::new);
+            this.dynamicName = name != null && name.isDynamic();
+            this.dynamicLore = Arrays.stream(lore).anyMatch(Line::isDynamic);
+
+            final ItemStack item = base.build();
+            final ItemMeta meta = item.getItemMeta();
+            if (meta != null) {
+                if (name != null && !dynamicName) meta.displayName(name.component);
+                if (lore.length > 0 && !dynamicLore) meta.lore(Arrays.stream(lore).map(line -> line.component).toList());
+                item.setItemMeta(meta);
+            }
+            this.item = item;
+        }
+
+        private ItemStack render(final Map<String, ?> values) {
+            final ItemStack stack = item.clone();
+            if (!dynamicName && !dynamicLore) return stack;
+
+            final ItemMeta meta = stack.getItemMeta();
+            if (meta == null) return stack;
+            if (dynamicName) meta.displayName(name.render(values));
+            if (dynamicLore) {
+                final List<Component> lines = new ArrayList<>(lore.length);
+                for (final Line line : lore) lines.add(line.render(values));
+                meta.lore(lines);
+            }
+            stack.setItemMeta(meta);
+            return stack;
+        }
+    }
+
+    private final class Line {
+        private final Message.Bundle bundle;
+        private final String key;
+        private final String[] placeholderKeys;
+        private final Component component;
+
+        private Line(final Message.Bundle bundle, final String key) {
+            this.bundle = bundle;
+            this.key = key;
+            this.placeholderKeys = Placeholders.referencedBy(bundle.getRawMessage(key), placeholders);
+            this.component = placeholderKeys.length == 0 ? bundle.from(key).build() : null;
+        }
+
+        private boolean isDynamic() {
+            return component == null;
+        }
+
+        private Component render(final Map<String, ?> values) {
+            if (component != null) return component;
+            final MessageBuilder builder = bundle.from(key);
+            for (final String placeholder : placeholderKeys) {
+                final Object value = values.get(placeholder);
+                if (value != null) builder.with(placeholder, value);
+            }
+            return builder.build();
+        }
+    }
+}
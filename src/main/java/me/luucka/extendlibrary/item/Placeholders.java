@@ -0,0 +1,23 @@
+package me.luucka.extendlibrary.item;
+
+import java.util.Collection;
+
+final class Placeholders {
+
+    private Placeholders() {
+    }
+
+    /**
+     * Return the placeholder keys referenced as a tag by a MiniMessage {@link String}
+     *
+     * @param raw          MiniMessage {@link String}
+     * @param placeholders declared placeholder keys
+     * @return the referenced keys, sorted
+     */
+    static String[] referencedBy(final String raw, final Collection<String> placeholders) {
+        return placeholders.stream()
+                .filter(key -> raw.contains("<" + key + ">") || raw.contains("<" + key + ":"))
+                .sorted()
+                .toArray(String[]::new);
+    }
+}
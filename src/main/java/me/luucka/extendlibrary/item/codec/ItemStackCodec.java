@@ -0,0 +1,77 @@
+package me.luucka.extendlibrary.item.codec;
+
+import org.bukkit.inventory.ItemStack;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ItemStackCodec is a compact binary format for {@link ItemStack}, based on {@link ItemStack#serializeAsBytes()}.
+ * <p>
+ * Stacks that only differ by amount are written once and referenced afterwards, see {@link ItemStackWriter}
+ * and {@link ItemStackReader} to stream large stores over NIO channels.
+ * <p>
+ * Format: a header ({@link #MAGIC}, {@link #VERSION}) followed by records, each starting with a tag byte:
+ * <ul>
+ *     <li>{@link #TAG_DEFINE}: varint id, varint length, serialized stack with amount 1</li>
+ *     <li>{@link #TAG_REF}: varint id, varint amount</li>
+ *     <li>{@link #TAG_INLINE}: varint length, serialized stack, used once the dictionary is full</li>
+ *     <li>{@link #TAG_EMPTY}: a null, air or zero amount slot</li>
+ *     <li>{@link #TAG_END}: end of stream</li>
+ * </ul>
+ */
+public final class ItemStackCodec {
+
+    public static final int MAGIC = 0x45584953; // "EXIS"
+    public static final byte VERSION = 1;
+
+    static final byte TAG_END = 0;
+    static final byte TAG_DEFINE = 1;
+    static final byte TAG_REF = 2;
+    static final byte TAG_INLINE = 3;
+    static final byte TAG_EMPTY = 4;
+
+    private ItemStackCodec() {
+    }
+
+    /**
+     * Encode the given stacks
+     *
+     * @param items stacks to encode, null and air slots are kept
+     * @return the encoded bytes
+     */
+    public static byte[] encode(final ItemStack... items) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ItemStackWriter writer = new ItemStackWriter(Channels.newChannel(bytes))) {
+            for (final ItemStack item : items) {
+                writer.write(item);
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decode the given bytes
+     *
+     * @param bytes bytes produced by {@link #encode(ItemStack...)} or {@link ItemStackWriter}
+     * @return the decoded stacks, empty slots are null
+     */
+    public static ItemStack[] decode(final byte[] bytes) {
+        final List<ItemStack> items = new ArrayList<>();
+        try (ItemStackReader reader = new ItemStackReader(Channels.newChannel(new ByteArrayInputStream(bytes)))) {
+            while (reader.hasNext()) {
+                items.add(reader.next());
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return items.toArray(ItemStack[]::new);
+    }
+}
@@ -0,0 +1,155 @@
+package me.luucka.extendlibrary.item.codec;
+
+import org.bukkit.inventory.ItemStack;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * ItemStackReader streams {@link ItemStack} from a channel in the {@link ItemStackCodec} format.
+ * <p>
+ * Only the deduplicated stacks are kept in memory, every other stack is decoded when requested.
+ * Closing the reader closes the channel. Not thread-safe.
+ */
+@SuppressWarnings("unused")
+public final class ItemStackReader implements Closeable {
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer;
+    private final List<ItemStack> dictionary = new ArrayList<>();
+    private boolean end = false;
+
+    public ItemStackReader(final ReadableByteChannel channel) throws IOException {
+        this(channel, ItemStackWriter.DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param channel    source channel
+     * @param bufferSize size of the read buffer
+     * @throws IOException if the header cannot be read or is not valid
+     */
+    public ItemStackReader(final ReadableByteChannel channel, final int bufferSize) throws IOException {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(Math.max(bufferSize, 16));
+        buffer.flip();
+        fill(5);
+        final int magic = buffer.getInt();
+        final byte version = buffer.get();
+        if (magic != ItemStackCodec.MAGIC) {
+            throw new StreamCorruptedException("Not an item stack stream");
+        }
+        if (version != ItemStackCodec.VERSION) {
+            throw new StreamCorruptedException("Unsupported item stack stream version " + version);
+        }
+    }
+
+    /**
+     * Check if another slot is available, reading the dictionary records in between
+     *
+     * @return true if {@link #next()} returns a slot
+     * @throws IOException if the channel fails or the stream is not valid
+     */
+    public boolean hasNext() throws IOException {
+        while (!end) {
+            fill(1);
+            final byte tag = buffer.get(buffer.position());
+            if (tag == ItemStackCodec.TAG_END) {
+                buffer.get();
+                end = true;
+            } else if (tag == ItemStackCodec.TAG_DEFINE) {
+                buffer.get();
+                final int id = getVarInt();
+                if (id != dictionary.size()) {
+                    throw new StreamCorruptedException("Unexpected dictionary id " + id);
+                }
+                dictionary.add(ItemStack.deserializeBytes(getBytes()));
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Read the next slot
+     *
+     * @return the next stack, or null for an empty slot
+     * @throws IOException            if the channel fails or the stream is not valid
+     * @throws NoSuchElementException if the stream has ended
+     */
+    public ItemStack next() throws IOException {
+        if (!hasNext()) throw new NoSuchElementException();
+        final byte tag = buffer.get();
+        switch (tag) {
+            case ItemStackCodec.TAG_EMPTY:
+                return null;
+            case ItemStackCodec.TAG_INLINE:
+                return ItemStack.deserializeBytes(getBytes());
+            case ItemStackCodec.TAG_REF:
+                final int id = getVarInt();
+                final int amount = getVarInt();
+                if (id < 0 || id >= dictionary.size()) {
+                    throw new StreamCorruptedException("Unknown dictionary id " + id);
+                }
+                if (amount <= 0) {
+                    throw new StreamCorruptedException("Invalid amount " + amount);
+                }
+                return dictionary.get(id).asQuantity(amount);
+            default:
+                throw new StreamCorruptedException("Unknown tag " + tag);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private byte[] getBytes() throws IOException {
+        final int length = getVarInt();
+        if (length < 0) throw new StreamCorruptedException("Negative length " + length);
+        // grow with the data actually read, a corrupt length must not allocate up front
+        byte[] bytes = new byte[Math.min(length, buffer.capacity())];
+        int offset = 0;
+        while (offset < length) {
+            fill(1);
+            if (offset == bytes.length) {
+                bytes = Arrays.copyOf(bytes, (int) Math.min(length, bytes.length * 2L));
+            }
+            final int chunk = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.get(bytes, offset, chunk);
+            offset += chunk;
+        }
+        return bytes;
+    }
+
+    private int getVarInt() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            fill(1);
+            final byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new StreamCorruptedException("VarInt too long");
+    }
+
+    private void fill(final int bytes) throws IOException {
+        while (buffer.remaining() < bytes) {
+            buffer.compact();
+            final int read = channel.read(buffer);
+            buffer.flip();
+            if (read < 0) throw new EOFException();
+        }
+    }
+}
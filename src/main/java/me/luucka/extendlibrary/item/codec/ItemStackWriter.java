@@ -0,0 +1,144 @@
+package me.luucka.extendlibrary.item.codec;
+
+import org.bukkit.inventory.ItemStack;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ItemStackWriter streams {@link ItemStack} to a channel in the {@link ItemStackCodec} format.
+ * <p>
+ * Closing the writer ends the stream and closes the channel. Not thread-safe.
+ */
+@SuppressWarnings("unused")
+public final class ItemStackWriter implements Closeable {
+
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    public static final int DEFAULT_DICTIONARY_SIZE = 4096;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+    private final int dictionarySize;
+    private final Map<ItemStack, Integer> dictionary = new HashMap<>();
+    private boolean closed = false;
+
+    public ItemStackWriter(final WritableByteChannel channel) throws IOException {
+        this(channel, DEFAULT_BUFFER_SIZE, DEFAULT_DICTIONARY_SIZE);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param channel        destination channel
+     * @param bufferSize     size of the write buffer
+     * @param dictionarySize maximum number of deduplicated stacks, 0 to disable deduplication
+     * @throws IOException if the header cannot be written
+     */
+    public ItemStackWriter(final WritableByteChannel channel, final int bufferSize, final int dictionarySize) throws IOException {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(Math.max(bufferSize, 16));
+        this.dictionarySize = dictionarySize;
+        buffer.putInt(ItemStackCodec.MAGIC).put(ItemStackCodec.VERSION);
+    }
+
+    /**
+     * Write a stack
+     *
+     * @param item stack to write, null, air and stacks with no items left are written as empty slots
+     * @throws IOException if the channel fails
+     */
+    public void write(final ItemStack item) throws IOException {
+        if (closed) throw new IOException("Writer is closed");
+        // a reference with amount 0 or less is not readable back, and the stack is empty anyway
+        if (item == null || item.getType().isAir() || item.getAmount() <= 0) {
+            ensure(1);
+            buffer.put(ItemStackCodec.TAG_EMPTY);
+            return;
+        }
+
+        final ItemStack one = item.asOne();
+        Integer id = dictionary.get(one);
+        if (id == null) {
+            if (dictionary.size() >= dictionarySize) {
+                writeBytes(ItemStackCodec.TAG_INLINE, item.serializeAsBytes());
+                return;
+            }
+            id = dictionary.size();
+            dictionary.put(one, id);
+            ensure(6);
+            buffer.put(ItemStackCodec.TAG_DEFINE);
+            putVarInt(id);
+            writeBytes(one.serializeAsBytes());
+        }
+        ensure(11);
+        buffer.put(ItemStackCodec.TAG_REF);
+        putVarInt(id);
+        putVarInt(item.getAmount());
+    }
+
+    /**
+     * Write the pending bytes to the channel
+     *
+     * @throws IOException if the channel fails
+     */
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        try {
+            ensure(1);
+            buffer.put(ItemStackCodec.TAG_END);
+            flush();
+        } finally {
+            closed = true;
+            channel.close();
+        }
+    }
+
+    private void writeBytes(final byte tag, final byte[] bytes) throws IOException {
+        ensure(1);
+        buffer.put(tag);
+        writeBytes(bytes);
+    }
+
+    private void writeBytes(final byte[] bytes) throws IOException {
+        ensure(5);
+        putVarInt(bytes.length);
+        if (bytes.length <= buffer.remaining()) {
+            buffer.put(bytes);
+            return;
+        }
+        flush();
+        if (bytes.length <= buffer.capacity()) {
+            buffer.put(bytes);
+            return;
+        }
+        final ByteBuffer wrapped = ByteBuffer.wrap(bytes);
+        while (wrapped.hasRemaining()) {
+            channel.write(wrapped);
+        }
+    }
+
+    private void ensure(final int bytes) throws IOException {
+        if (buffer.remaining() < bytes) flush();
+    }
+
+    private void putVarInt(int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+}
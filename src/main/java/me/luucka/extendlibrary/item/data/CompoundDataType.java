@@ -0,0 +1,69 @@
+package me.luucka.extendlibrary.item.data;
+
+import org.bukkit.persistence.PersistentDataAdapterContext;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * CompoundDataType stores a small record as a nested {@link PersistentDataContainer}.
+ * <p>
+ * Implementations read and write the fields through their own cached {@link DataKey}, e.g.
+ * <pre>
+ * public final class RewardType extends CompoundDataType&lt;Reward&gt; {
+ *     private final DataKey&lt;String, String&gt; id;
+ *     private final DataKey&lt;Integer, Integer&gt; amount;
+ *
+ *     public RewardType(DataKeys keys) {
+ *         super(Reward.class);
+ *         this.id = keys.string("reward_id");
+ *         this.amount = keys.integer("reward_amount");
+ *     }
+ *
+ *     protected void write(Reward value, PersistentDataContainer container) {
+ *         id.set(container, value.id());
+ *         amount.set(container, value.amount());
+ *     }
+ *
+ *     protected Reward read(PersistentDataContainer container) {
+ *         return new Reward(id.get(container), amount.getOrDefault(container, 0));
+ *     }
+ * }
+ * </pre>
+ *
+ * @param <T> the record type
+ */
+public abstract class CompoundDataType<T> implements PersistentDataType<PersistentDataContainer, T> {
+
+    private final Class<T> complexType;
+
+    protected CompoundDataType(final Class<T> complexType) {
+        this.complexType = complexType;
+    }
+
+    protected abstract void write(T value, PersistentDataContainer container);
+
+    protected abstract T read(PersistentDataContainer container);
+
+    @Override
+    public final @NotNull Class<PersistentDataContainer> getPrimitiveType() {
+        return PersistentDataContainer.class;
+    }
+
+    @Override
+    public final @NotNull Class<T> getComplexType() {
+        return complexType;
+    }
+
+    @Override
+    public final @NotNull PersistentDataContainer toPrimitive(@NotNull T complex, @NotNull PersistentDataAdapterContext context) {
+        final PersistentDataContainer container = context.newPersistentDataContainer();
+        write(complex, container);
+        return container;
+    }
+
+    @Override
+    public final @NotNull T fromPrimitive(@NotNull PersistentDataContainer primitive, @NotNull PersistentDataAdapterContext context) {
+        return read(primitive);
+    }
+}
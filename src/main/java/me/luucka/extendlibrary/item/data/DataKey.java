@@ -0,0 +1,102 @@
+package me.luucka.extendlibrary.item.data;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+
+/**
+ * DataKey binds a cached {@link NamespacedKey} to its {@link PersistentDataType}.
+ * <p>
+ * Obtain instances from {@link DataKeys} and keep them in constants, so no key is built on hot paths.
+ *
+ * @param <P> the primitive type stored in the container
+ * @param <C> the complex type read and written by callers
+ */
+@SuppressWarnings("unused")
+public final class DataKey<P, C> {
+
+    private final NamespacedKey key;
+    private final PersistentDataType<P, C> type;
+
+    DataKey(final NamespacedKey key, final PersistentDataType<P, C> type) {
+        this.key = key;
+        this.type = type;
+    }
+
+    public NamespacedKey getKey() {
+        return key;
+    }
+
+    public PersistentDataType<P, C> getType() {
+        return type;
+    }
+
+    /**
+     * Read this key from a container
+     *
+     * @param container {@link PersistentDataContainer} to read
+     * @return the value, or null if absent or of another type
+     */
+    public C get(final PersistentDataContainer container) {
+        return container.get(key, type);
+    }
+
+    /**
+     * Read this key from a container
+     *
+     * @param container    {@link PersistentDataContainer} to read
+     * @param defaultValue value returned if the key is absent
+     * @return the value, or defaultValue
+     */
+    public C getOrDefault(final PersistentDataContainer container, final C defaultValue) {
+        return container.getOrDefault(key, type, defaultValue);
+    }
+
+    /**
+     * Read this key from an item. To read several keys of the same item use {@link DataView}.
+     *
+     * @param item {@link ItemStack} to read
+     * @return the value, or null if absent
+     */
+    public C get(final ItemStack item) {
+        return DataView.of(item).get(this);
+    }
+
+    public boolean has(final PersistentDataContainer container) {
+        return container.has(key, type);
+    }
+
+    public void set(final PersistentDataContainer container, final C value) {
+        container.set(key, type, value);
+    }
+
+    public void remove(final PersistentDataContainer container) {
+        container.remove(key);
+    }
+
+    /**
+     * Pair this key with a value, for bulk writes
+     *
+     * @param value value to write
+     * @return a {@link Value}
+     */
+    public Value<C> with(final C value) {
+        return new Value<>(this, value);
+    }
+
+    @Override
+    public String toString() {
+        return key + " (" + type.getComplexType().getSimpleName() + ")";
+    }
+
+    /**
+     * A {@link DataKey} with the value to write
+     */
+    public record Value<C>(DataKey<?, C> key, C value) {
+
+        public void applyTo(final PersistentDataContainer container) {
+            key.set(container, value);
+        }
+    }
+}
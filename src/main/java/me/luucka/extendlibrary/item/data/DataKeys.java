@@ -0,0 +1,89 @@
+package me.luucka.extendlibrary.item.data;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.plugin.Plugin;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DataKeys is the registry of the {@link DataKey} of a plugin.
+ * <p>
+ * Every key is created once and returned from cache afterwards, registering the same name
+ * with another {@link PersistentDataType} is an error.
+ */
+@SuppressWarnings("unused")
+public final class DataKeys {
+
+    private static final Map<String, DataKeys> BY_NAMESPACE = new ConcurrentHashMap<>();
+
+    private final Plugin plugin;
+    private final Map<String, DataKey<?, ?>> keys = new ConcurrentHashMap<>();
+
+    private DataKeys(final Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Return the registry of the given plugin
+     *
+     * @param plugin owner of the keys
+     * @return the plugin {@link DataKeys}
+     */
+    public static DataKeys of(final Plugin plugin) {
+        return BY_NAMESPACE.computeIfAbsent(plugin.getName().toLowerCase(Locale.ROOT), namespace -> new DataKeys(plugin));
+    }
+
+    /**
+     * Return the key with the given name and type, creating it on first use
+     *
+     * @param name key name, see {@link NamespacedKey}
+     * @param type {@link PersistentDataType} of the value
+     * @return the cached {@link DataKey}
+     * @throws IllegalArgumentException if the name is already registered with another type
+     */
+    @SuppressWarnings("unchecked")
+    public <P, C> DataKey<P, C> key(final String name, final PersistentDataType<P, C> type) {
+        final DataKey<?, ?> key = keys.computeIfAbsent(name, n -> new DataKey<>(new NamespacedKey(plugin, n), type));
+        if (key.getType() != type) {
+            throw new IllegalArgumentException("Data key " + key.getKey() + " is already registered with type " + key.getType().getComplexType().getName());
+        }
+        return (DataKey<P, C>) key;
+    }
+
+    public DataKey<String, String> string(final String name) {
+        return key(name, PersistentDataType.STRING);
+    }
+
+    public DataKey<Byte, Boolean> bool(final String name) {
+        return key(name, PersistentDataType.BOOLEAN);
+    }
+
+    public DataKey<Byte, Byte> byteKey(final String name) {
+        return key(name, PersistentDataType.BYTE);
+    }
+
+    public DataKey<Integer, Integer> integer(final String name) {
+        return key(name, PersistentDataType.INTEGER);
+    }
+
+    public DataKey<Long, Long> longKey(final String name) {
+        return key(name, PersistentDataType.LONG);
+    }
+
+    public DataKey<Double, Double> doubleKey(final String name) {
+        return key(name, PersistentDataType.DOUBLE);
+    }
+
+    public DataKey<byte[], UUID> uuid(final String name) {
+        return key(name, UuidDataType.INSTANCE);
+    }
+
+    public <T> DataKey<PersistentDataContainer, T> compound(final String name, final CompoundDataType<T> type) {
+        return key(name, type);
+    }
+}
@@ -0,0 +1,80 @@
+package me.luucka.extendlibrary.item.data;
+
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataContainer;
+
+/**
+ * DataView reads several {@link DataKey} of the same {@link ItemStack} with a single meta copy.
+ * <pre>
+ * final DataView view = DataView.of(event.getCurrentItem());
+ * if (!view.has(SHOP_ID)) return;
+ * final UUID owner = view.get(OWNER);
+ * </pre>
+ */
+@SuppressWarnings("unused")
+public final class DataView {
+
+    private static final DataView EMPTY = new DataView(null);
+
+    private final PersistentDataContainer container;
+
+    private DataView(final PersistentDataContainer container) {
+        this.container = container;
+    }
+
+    /**
+     * Return a view of the persistent data of the given item
+     *
+     * @param item {@link ItemStack} to read, may be null
+     * @return a {@link DataView}, empty if the item has no meta
+     */
+    public static DataView of(final ItemStack item) {
+        if (item == null || !item.hasItemMeta()) return EMPTY;
+        return of(item.getItemMeta());
+    }
+
+    /**
+     * Return a view of the persistent data of the given meta
+     *
+     * @param meta {@link ItemMeta} to read, may be null
+     * @return a {@link DataView}
+     */
+    public static DataView of(final ItemMeta meta) {
+        return meta == null ? EMPTY : new DataView(meta.getPersistentDataContainer());
+    }
+
+    public boolean isEmpty() {
+        return container == null || container.isEmpty();
+    }
+
+    public boolean has(final DataKey<?, ?> key) {
+        return container != null && key.has(container);
+    }
+
+    public <C> C get(final DataKey<?, C> key) {
+        return container == null ? null : key.get(container);
+    }
+
+    public <C> C getOrDefault(final DataKey<?, C> key, final C defaultValue) {
+        return container == null ? defaultValue : key.getOrDefault(container, defaultValue);
+    }
+
+    /**
+     * Read several keys at once into a caller owned array
+     *
+     * @param keys keys to read
+     * @param out  array receiving the values in the same order, absent keys are null
+     * @return out
+     * @throws IllegalArgumentException if out is shorter than keys
+     */
+    public Object[] read(final DataKey<?, ?>[] keys, final Object[] out) {
+        if (out.length < keys.length) {
+            throw new IllegalArgumentException("Output array too small: " + out.length + " < " + keys.length);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            out[i] = container == null ? null : keys[i].get(container);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,58 @@
+package me.luucka.extendlibrary.item.data;
+
+import org.bukkit.persistence.PersistentDataAdapterContext;
+import org.bukkit.persistence.PersistentDataType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+
+/**
+ * Store a {@link UUID} as 16 bytes instead of its 36 chars {@link String} form
+ */
+public final class UuidDataType implements PersistentDataType<byte[], UUID> {
+
+    public static final UuidDataType INSTANCE = new UuidDataType();
+
+    private UuidDataType() {
+    }
+
+    @Override
+    public @NotNull Class<byte[]> getPrimitiveType() {
+        return byte[].class;
+    }
+
+    @Override
+    public @NotNull Class<UUID> getComplexType() {
+        return UUID.class;
+    }
+
+    @Override
+    public byte @NotNull [] toPrimitive(@NotNull UUID complex, @NotNull PersistentDataAdapterContext context) {
+        final byte[] bytes = new byte[16];
+        writeLong(bytes, 0, complex.getMostSignificantBits());
+        writeLong(bytes, 8, complex.getLeastSignificantBits());
+        return bytes;
+    }
+
+    @Override
+    public @NotNull UUID fromPrimitive(byte @NotNull [] primitive, @NotNull PersistentDataAdapterContext context) {
+        if (primitive.length != 16) {
+            throw new IllegalArgumentException("UUID must be 16 bytes, got " + primitive.length);
+        }
+        return new UUID(readLong(primitive, 0), readLong(primitive, 8));
+    }
+
+    private static void writeLong(final byte[] bytes, final int offset, final long value) {
+        for (int i = 0; i < 8; i++) {
+            bytes[offset + i] = (byte) (value >>> (56 - (i << 3)));
+        }
+    }
+
+    private static long readLong(final byte[] bytes, final int offset) {
+        long value = 0L;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xFFL);
+        }
+        return value;
+    }
+}
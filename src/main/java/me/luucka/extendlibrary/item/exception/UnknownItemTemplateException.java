@@ -0,0 +1,15 @@
+package me.luucka.extendlibrary.item.exception;
+
+public class UnknownItemTemplateException extends IllegalArgumentException {
+    private final String templateId;
+
+    public UnknownItemTemplateException(String templateId) {
+        super("Unknown item template " + templateId);
+        this.templateId = templateId;
+    }
+
+    @SuppressWarnings("unused")
+    public String getTemplateId() {
+        return templateId;
+    }
+}
@@ -0,0 +1,377 @@
+package me.luucka.extendlibrary.item.store;
+
+import org.bukkit.inventory.ItemStack;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+/**
+ * ItemStore is an embedded, append-only store of {@link ItemStack} keyed by (owner, slot), e.g. backpacks and vaults.
+ * <p>
+ * Stacks are kept serialized in a memory-mapped data file, the heap only holds an offset index
+ * (one int per slot of each owner). Every write appends a record, the previous record of the
+ * slot becomes garbage until {@link #compact()} rewrites the live records.
+ * <p>
+ * Records carry a CRC32 and the committed end of the file is written in the header after the
+ * record, so on open a torn or partial write is detected and discarded.
+ * A data file is limited to 2 GiB.
+ * <p>
+ * Thread-safe: reads run concurrently, writes are exclusive.
+ */
+@SuppressWarnings("unused")
+public final class ItemStore implements Closeable {
+
+    private static final int MAGIC = 0x45584953; // "EXIS"
+    private static final int VERSION = 1;
+    private static final int FILE_HEADER = 16; // magic, version, committed end
+    private static final int END_OFFSET = 8;
+    private static final int RECORD_HEADER = 28; // length, owner msb, owner lsb, slot, crc
+    private static final int TOMBSTONE = -1;
+    private static final int MIN_CAPACITY = 1 << 20;
+
+    private final Path file;
+    private final boolean sync;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, int[]> index = new HashMap<>();
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int end;
+    private long liveBytes;
+    private boolean closed = false;
+
+    /**
+     * Open or create a store
+     *
+     * @param file data file
+     * @param sync true to force every write to disk before returning
+     * @throws IOException if the file cannot be opened or is not a store
+     */
+    public ItemStore(final Path file, final boolean sync) throws IOException {
+        this.file = file;
+        this.sync = sync;
+        open();
+    }
+
+    /**
+     * Return the stack stored in a slot
+     *
+     * @param owner owner of the slot
+     * @param slot  slot index
+     * @return a new {@link ItemStack}, or null if the slot is empty
+     */
+    public ItemStack get(final UUID owner, final int slot) {
+        lock.readLock().lock();
+        try {
+            ensureOpen();
+            final int[] offsets = index.get(owner);
+            if (offsets == null || slot < 0 || slot >= offsets.length || offsets[slot] == 0) return null;
+            return read(offsets[slot]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Return every stack of an owner
+     *
+     * @param owner owner of the slots
+     * @param size  size of the returned array
+     * @return the contents, empty slots are null
+     */
+    public ItemStack[] getAll(final UUID owner, final int size) {
+        final ItemStack[] contents = new ItemStack[size];
+        lock.readLock().lock();
+        try {
+            ensureOpen();
+            final int[] offsets = index.get(owner);
+            if (offsets == null) return contents;
+            for (int slot = 0; slot < Math.min(size, offsets.length); slot++) {
+                if (offsets[slot] != 0) contents[slot] = read(offsets[slot]);
+            }
+            return contents;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Store a stack in a slot
+     *
+     * @param owner owner of the slot
+     * @param slot  slot index
+     * @param item  stack to store, null or air to clear the slot
+     * @throws IOException if the write fails
+     */
+    public void put(final UUID owner, final int slot, final ItemStack item) throws IOException {
+        if (slot < 0) throw new IllegalArgumentException("Negative slot " + slot);
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            write(owner, slot, item);
+            commit();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Store every stack of an owner, with a single commit
+     *
+     * @param owner    owner of the slots
+     * @param contents the contents, null slots are cleared
+     * @throws IOException if the write fails
+     */
+    public void putAll(final UUID owner, final ItemStack[] contents) throws IOException {
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            final int[] offsets = index.get(owner);
+            final int size = Math.max(contents.length, offsets == null ? 0 : offsets.length);
+            for (int slot = 0; slot < size; slot++) {
+                final ItemStack item = slot < contents.length ? contents[slot] : null;
+                if (isEmpty(item) && (offsets == null || slot >= offsets.length || offsets[slot] == 0)) continue;
+                write(owner, slot, item);
+            }
+            commit();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Clear every slot of an owner
+     *
+     * @param owner owner of the slots
+     * @throws IOException if the write fails
+     */
+    public void remove(final UUID owner) throws IOException {
+        putAll(owner, new ItemStack[0]);
+    }
+
+    /**
+     * Rewrite the live records into a new data file and atomically replace the current one
+     *
+     * @throws IOException if the compaction fails, the current file is left untouched
+     */
+    public void compact() throws IOException {
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            final Path tmp = file.resolveSibling(file.getFileName() + ".compact");
+            // the live index is only replaced once the new file is in place
+            final Map<UUID, int[]> compacted = new HashMap<>();
+            int position = FILE_HEADER;
+            try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                final long size = FILE_HEADER + liveBytes;
+                if (size > Integer.MAX_VALUE) throw new IOException("Item store exceeds 2 GiB");
+                final MappedByteBuffer target = out.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                target.putInt(0, MAGIC).putInt(4, VERSION);
+                for (final Map.Entry<UUID, int[]> entry : index.entrySet()) {
+                    final int[] offsets = entry.getValue();
+                    final int[] moved = new int[offsets.length];
+                    for (int slot = 0; slot < offsets.length; slot++) {
+                        if (offsets[slot] == 0) continue;
+                        final int length = RECORD_HEADER + buffer.getInt(offsets[slot]);
+                        target.put(position, buffer, offsets[slot], length);
+                        moved[slot] = position;
+                        position += length;
+                    }
+                    compacted.put(entry.getKey(), moved);
+                }
+                target.putInt(END_OFFSET, position);
+                target.force();
+            } catch (final IOException | RuntimeException e) {
+                Files.deleteIfExists(tmp);
+                throw e;
+            }
+            try {
+                channel.close();
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                map();
+            } catch (final IOException | RuntimeException e) {
+                // the move may not have happened, go back to whatever file is in place
+                try {
+                    Files.deleteIfExists(tmp);
+                    reopen();
+                } catch (final IOException | RuntimeException reopen) {
+                    closed = true;
+                    e.addSuppressed(reopen);
+                }
+                throw e;
+            }
+            index.clear();
+            index.putAll(compacted);
+            end = position;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return bytes used by the records that are still reachable
+     */
+    public long getLiveBytes() {
+        return liveBytes;
+    }
+
+    /**
+     * @return bytes used by every record, live or not
+     */
+    public long getTotalBytes() {
+        return end - FILE_HEADER;
+    }
+
+    /**
+     * @return the fraction of the data file that {@link #compact()} would reclaim
+     */
+    public double getGarbageRatio() {
+        final long total = getTotalBytes();
+        return total == 0 ? 0 : 1 - (double) liveBytes / total;
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (closed) return;
+            closed = true;
+            buffer.force();
+            channel.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void open() throws IOException {
+        index.clear();
+        liveBytes = 0;
+        map();
+        scan(buffer.getInt(END_OFFSET));
+    }
+
+    private void map() throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        final long size = channel.size();
+        if (size > Integer.MAX_VALUE) throw new IOException("Item store exceeds 2 GiB");
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, MIN_CAPACITY));
+        if (size == 0) {
+            buffer.putInt(0, MAGIC).putInt(4, VERSION).putInt(END_OFFSET, FILE_HEADER);
+        } else if (buffer.getInt(0) != MAGIC) {
+            channel.close();
+            throw new StreamCorruptedException(file + " is not an item store");
+        } else if (buffer.getInt(4) != VERSION) {
+            channel.close();
+            throw new StreamCorruptedException("Unsupported item store version " + buffer.getInt(4));
+        }
+    }
+
+    private void reopen() throws IOException {
+        channel.close();
+        open();
+    }
+
+    private void scan(final int committed) {
+        int position = FILE_HEADER;
+        final int limit = Math.min(Math.max(committed, FILE_HEADER), buffer.capacity());
+        while (position + RECORD_HEADER <= limit) {
+            final int length = buffer.getInt(position);
+            final int payload = length == TOMBSTONE ? 0 : length;
+            final int slot = buffer.getInt(position + 20);
+            // compared against the space left, a corrupt length cannot overflow
+            if (payload < 0 || payload > limit - position - RECORD_HEADER || slot < 0
+                    || crc(position, payload) != buffer.getInt(position + 24)) {
+                break; // torn write, everything after it is discarded
+            }
+            final UUID owner = new UUID(buffer.getLong(position + 4), buffer.getLong(position + 12));
+            index(owner, slot, length == TOMBSTONE ? 0 : position, RECORD_HEADER + payload);
+            position += RECORD_HEADER + payload;
+        }
+        end = position;
+        buffer.putInt(END_OFFSET, end);
+    }
+
+    private void write(final UUID owner, final int slot, final ItemStack item) throws IOException {
+        final byte[] bytes = isEmpty(item) ? null : item.serializeAsBytes();
+        final int payload = bytes == null ? 0 : bytes.length;
+        final int length = RECORD_HEADER + payload;
+        ensureCapacity((long) end + length);
+
+        final int position = end;
+        buffer.putInt(position, bytes == null ? TOMBSTONE : payload)
+                .putLong(position + 4, owner.getMostSignificantBits())
+                .putLong(position + 12, owner.getLeastSignificantBits())
+                .putInt(position + 20, slot);
+        if (bytes != null) buffer.put(position + RECORD_HEADER, bytes);
+        buffer.putInt(position + 24, crc(position, payload));
+        end += length;
+        index(owner, slot, bytes == null ? 0 : position, length);
+    }
+
+    private void commit() {
+        if (sync) buffer.force();
+        buffer.putInt(END_OFFSET, end);
+        if (sync) buffer.force(0, FILE_HEADER);
+    }
+
+    private void index(final UUID owner, final int slot, final int offset, final int length) {
+        int[] offsets = index.get(owner);
+        if (offsets != null && slot < offsets.length && offsets[slot] != 0) {
+            liveBytes -= RECORD_HEADER + Math.max(buffer.getInt(offsets[slot]), 0);
+        }
+        if (offset == 0) {
+            if (offsets != null && slot < offsets.length) offsets[slot] = 0;
+            return;
+        }
+        if (offsets == null || slot >= offsets.length) {
+            offsets = offsets == null ? new int[slot + 1] : Arrays.copyOf(offsets, Math.max(slot + 1, offsets.length * 2));
+            index.put(owner, offsets);
+        }
+        offsets[slot] = offset;
+        liveBytes += length;
+    }
+
+    private ItemStack read(final int offset) {
+        final byte[] bytes = new byte[buffer.getInt(offset)];
+        buffer.get(offset + RECORD_HEADER, bytes);
+        return ItemStack.deserializeBytes(bytes);
+    }
+
+    private int crc(final int position, final int payload) {
+        final CRC32 crc = new CRC32();
+        crc.update(buffer.slice(position, 24));
+        crc.update(buffer.slice(position + RECORD_HEADER, payload));
+        return (int) crc.getValue();
+    }
+
+    private void ensureCapacity(final long required) throws IOException {
+        if (required <= buffer.capacity()) return;
+        if (required > Integer.MAX_VALUE) throw new IOException("Item store exceeds 2 GiB, compact it or use another file");
+        final long capacity = Math.min(Integer.MAX_VALUE, Math.max(required, (long) buffer.capacity() * 2));
+        buffer.force();
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    }
+
+    private void ensureOpen() {
+        if (closed) throw new IllegalStateException("Item store is closed");
+    }
+
+    private static boolean isEmpty(final ItemStack item) {
+        return item == null || item.getType().isAir();
+    }
+}
@@ -0,0 +1,122 @@
+package me.luucka.extendlibrary.map;
+
+import org.bukkit.map.MapPalette;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * MapColorTable is a precomputed RGB to {@link MapPalette} lookup table.
+ * <p>
+ * Colors are quantized to 6 bits per channel (262144 entries, 256 KiB), each entry holds the nearest
+ * palette color with the same weighted distance as {@link MapPalette#matchColor(Color)}.
+ * The table is built once, in parallel, on first use.
+ */
+@SuppressWarnings({"unused", "deprecation"})
+public final class MapColorTable {
+
+    public static final byte TRANSPARENT = 0;
+
+    private static final int BITS = 6;
+    private static final int SHIFT = 8 - BITS;
+
+    private static final int[] PALETTE_RGB;
+    private static final byte[] PALETTE_INDEX;
+    private static final byte[] TABLE;
+    private static final int[] RGB_BY_INDEX = new int[256];
+
+    static {
+        final List<Integer> rgb = new ArrayList<>();
+        final List<Byte> index = new ArrayList<>();
+        // the first 4 palette entries are transparent
+        for (int i = 4; i < 256; i++) {
+            try {
+                final Color color = MapPalette.getColor((byte) i);
+                if (color.getAlpha() < 255) continue;
+                RGB_BY_INDEX[i] = color.getRGB() & 0xFFFFFF;
+                rgb.add(RGB_BY_INDEX[i]);
+                index.add((byte) i);
+            } catch (final IndexOutOfBoundsException e) {
+                break;
+            }
+        }
+        PALETTE_RGB = rgb.stream().mapToInt(Integer::intValue).toArray();
+        PALETTE_INDEX = new byte[index.size()];
+        for (int i = 0; i < PALETTE_INDEX.length; i++) PALETTE_INDEX[i] = index.get(i);
+
+        TABLE = Builder.build(PALETTE_RGB, PALETTE_INDEX);
+    }
+
+    private MapColorTable() {
+    }
+
+    /**
+     * Return the palette color nearest to an RGB value
+     *
+     * @param rgb color as 0xRRGGBB, alpha is ignored
+     * @return the palette index
+     */
+    public static byte match(final int rgb) {
+        return TABLE[((rgb >> 16 & 0xFF) >> SHIFT) << (BITS * 2) | ((rgb >> 8 & 0xFF) >> SHIFT) << BITS | (rgb & 0xFF) >> SHIFT];
+    }
+
+    /**
+     * Return the palette color nearest to an RGB value
+     *
+     * @param r red, clamped to [0, 255]
+     * @param g green, clamped to [0, 255]
+     * @param b blue, clamped to [0, 255]
+     * @return the palette index
+     */
+    public static byte match(final int r, final int g, final int b) {
+        return match(clamp(r) << 16 | clamp(g) << 8 | clamp(b));
+    }
+
+    /**
+     * Return the RGB value of a palette color
+     *
+     * @param index palette index
+     * @return color as 0xRRGGBB
+     */
+    public static int rgbOf(final byte index) {
+        return RGB_BY_INDEX[index & 0xFF];
+    }
+
+    private static int clamp(final int value) {
+        return value < 0 ? 0 : Math.min(value, 255);
+    }
+
+    // separate class: parallel workers must not touch MapColorTable while it is being initialized
+    private static final class Builder {
+
+        private static byte[] build(final int[] paletteRgb, final byte[] paletteIndex) {
+            final byte[] table = new byte[1 << (BITS * 3)];
+            IntStream.range(0, table.length).parallel().forEach(key -> {
+                final int r = ((key >> (BITS * 2)) & 0x3F) << SHIFT | (1 << (SHIFT - 1));
+                final int g = ((key >> BITS) & 0x3F) << SHIFT | (1 << (SHIFT - 1));
+                final int b = (key & 0x3F) << SHIFT | (1 << (SHIFT - 1));
+                table[key] = paletteIndex[nearest(paletteRgb, r, g, b)];
+            });
+            return table;
+        }
+
+        private static int nearest(final int[] paletteRgb, final int r, final int g, final int b) {
+            int best = 0;
+            double bestDistance = Double.MAX_VALUE;
+            for (int i = 0; i < paletteRgb.length; i++) {
+                final int rgb = paletteRgb[i];
+                final int pr = rgb >> 16 & 0xFF, pg = rgb >> 8 & 0xFF, pb = rgb & 0xFF;
+                final double rmean = (r + pr) / 2.0;
+                final double dr = r - pr, dg = g - pg, db = b - pb;
+                final double distance = (2 + rmean / 256.0) * dr * dr + 4.0 * dg * dg + (2 + (255 - rmean) / 256.0) * db * db;
+                if (distance < bestDistance) {
+                    bestDistance = distance;
+                    best = i;
+                }
+            }
+            return best;
+        }
+    }
+}
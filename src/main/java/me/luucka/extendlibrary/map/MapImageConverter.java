@@ -0,0 +1,134 @@
+package me.luucka.extendlibrary.map;
+
+import me.luucka.extendlibrary.metrics.CacheStats;
+import me.luucka.extendlibrary.metrics.Metrics;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * MapImageConverter turns images into 128x128 map canvases through the {@link MapColorTable},
+ * with optional Floyd-Steinberg dithering, and caches the converted canvases by key.
+ * <p>
+ * Thread-safe, conversions can run off the main thread.
+ */
+@SuppressWarnings("unused")
+public final class MapImageConverter {
+
+    public static final int SIZE = 128;
+
+    private final Map<String, byte[]> cache = new ConcurrentHashMap<>();
+    private final CacheStats stats = Metrics.cache("map-images");
+
+    /**
+     * Return the cached canvas of the given key, converting the image on first use
+     *
+     * @param key    cache key, e.g. the image file name
+     * @param image  supplies the image on a cache miss
+     * @param dither true to dither the image
+     * @return the 128x128 canvas, do not modify it
+     */
+    public byte[] get(final String key, final Supplier<BufferedImage> image, final boolean dither) {
+        final String cacheKey = key + (dither ? "#dither" : "");
+        final byte[] canvas = cache.get(cacheKey);
+        if (canvas != null) {
+            stats.hit();
+            return canvas;
+        }
+        stats.miss();
+        return cache.computeIfAbsent(cacheKey, k -> convert(image.get(), dither));
+    }
+
+    public void invalidate(final String key) {
+        cache.remove(key);
+        cache.remove(key + "#dither");
+    }
+
+    public void invalidateAll() {
+        cache.clear();
+    }
+
+    /**
+     * Convert an image to a map canvas, scaling it to 128x128 if needed
+     *
+     * @param image  image to convert
+     * @param dither true to dither the image
+     * @return the 128x128 canvas, pixels with alpha below 128 are transparent
+     */
+    public static byte[] convert(final BufferedImage image, final boolean dither) {
+        final BufferedImage scaled = scale(image, SIZE, SIZE);
+        final int[] argb = scaled.getRGB(0, 0, SIZE, SIZE, null, 0, SIZE);
+        return dither ? dither(argb, SIZE, SIZE) : match(argb);
+    }
+
+    /**
+     * Scale an image to the given size, returns the image itself if it already has that size
+     *
+     * @param image  image to scale
+     * @param width  target width
+     * @param height target height
+     * @return the scaled image
+     */
+    public static BufferedImage scale(final BufferedImage image, final int width, final int height) {
+        if (image.getWidth() == width && image.getHeight() == height) return image;
+        final BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        final Graphics2D graphics = scaled.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.drawImage(image, 0, 0, width, height, null);
+        graphics.dispose();
+        return scaled;
+    }
+
+    private static byte[] match(final int[] argb) {
+        final byte[] canvas = new byte[argb.length];
+        for (int i = 0; i < argb.length; i++) {
+            canvas[i] = (argb[i] >>> 24) < 128 ? MapColorTable.TRANSPARENT : MapColorTable.match(argb[i]);
+        }
+        return canvas;
+    }
+
+    private static byte[] dither(final int[] argb, final int width, final int height) {
+        final byte[] canvas = new byte[argb.length];
+        // error of the current and next row, per channel, with one pixel of padding on each side
+        int[] current = new int[(width + 2) * 3];
+        int[] next = new int[(width + 2) * 3];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                final int i = y * width + x;
+                final int pixel = argb[i];
+                if ((pixel >>> 24) < 128) {
+                    canvas[i] = MapColorTable.TRANSPARENT;
+                    continue;
+                }
+                final int e = (x + 1) * 3;
+                final int r = (pixel >> 16 & 0xFF) + current[e] / 16;
+                final int g = (pixel >> 8 & 0xFF) + current[e + 1] / 16;
+                final int b = (pixel & 0xFF) + current[e + 2] / 16;
+                final byte color = MapColorTable.match(r, g, b);
+                canvas[i] = color;
+
+                final int matched = MapColorTable.rgbOf(color);
+                spread(current, next, e, r - (matched >> 16 & 0xFF), 0);
+                spread(current, next, e, g - (matched >> 8 & 0xFF), 1);
+                spread(current, next, e, b - (matched & 0xFF), 2);
+            }
+            final int[] swap = current;
+            current = next;
+            next = swap;
+            Arrays.fill(next, 0);
+        }
+        return canvas;
+    }
+
+    private static void spread(final int[] current, final int[] next, final int e, final int error, final int channel) {
+        current[e + 3 + channel] += error * 7;
+        next[e - 3 + channel] += error * 3;
+        next[e + channel] += error * 5;
+        next[e + 3 + channel] += error;
+    }
+}
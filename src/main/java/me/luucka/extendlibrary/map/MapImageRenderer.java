@@ -0,0 +1,77 @@
+package me.luucka.extendlibrary.map;
+
+import me.luucka.extendlibrary.util.ItemBuilder;
+import org.bukkit.entity.Player;
+import org.bukkit.map.MapCanvas;
+import org.bukkit.map.MapRenderer;
+import org.bukkit.map.MapView;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * MapImageRenderer draws a converted canvas (see {@link MapImageConverter}) on a {@link MapView}.
+ * <p>
+ * Frames where the canvas did not change cost nothing, and a new canvas only writes the pixels that
+ * differ from the previous one, so the server sends the smallest dirty region.
+ * <pre>
+ * final MapView view = Bukkit.createMap(world);
+ * new MapImageRenderer(canvas).attach(view);
+ * final ItemStack map = new ItemBuilder(Material.FILLED_MAP).setMapView(view).build();
+ * </pre>
+ *
+ * @see ItemBuilder#setMapView(MapView)
+ */
+@SuppressWarnings({"unused", "deprecation"})
+public final class MapImageRenderer extends MapRenderer {
+
+    private volatile byte[] canvas;
+    private byte[] drawn;
+
+    /**
+     * Constructor
+     *
+     * @param canvas 128x128 canvas to draw
+     */
+    public MapImageRenderer(final byte[] canvas) {
+        super(false);
+        setCanvas(canvas);
+    }
+
+    /**
+     * Replace the drawn canvas, the change is sent on the next frame. Safe to call from any thread.
+     *
+     * @param canvas 128x128 canvas to draw
+     */
+    public void setCanvas(final byte[] canvas) {
+        if (canvas.length != MapImageConverter.SIZE * MapImageConverter.SIZE) {
+            throw new IllegalArgumentException("Canvas must be 128x128, got " + canvas.length + " pixels");
+        }
+        this.canvas = canvas;
+    }
+
+    /**
+     * Replace every renderer of the view with this one
+     *
+     * @param view {@link MapView} to draw on
+     * @return the view
+     */
+    public MapView attach(final MapView view) {
+        for (final MapRenderer renderer : view.getRenderers()) {
+            view.removeRenderer(renderer);
+        }
+        view.addRenderer(this);
+        return view;
+    }
+
+    @Override
+    public void render(@NotNull final MapView map, @NotNull final MapCanvas mapCanvas, @NotNull final Player player) {
+        final byte[] current = canvas;
+        if (current == drawn) return;
+        final byte[] previous = drawn;
+        for (int i = 0; i < current.length; i++) {
+            if (previous == null || previous[i] != current[i]) {
+                mapCanvas.setPixel(i & 127, i >> 7, current[i]);
+            }
+        }
+        drawn = current;
+    }
+}
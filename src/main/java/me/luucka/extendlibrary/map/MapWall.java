@@ -0,0 +1,79 @@
+package me.luucka.extendlibrary.map;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * MapWall splits a large image into a grid of 128x128 map canvases, converted in parallel on a {@link ForkJoinPool}.
+ * <p>
+ * When dithering, every tile is dithered on its own, so the error does not spread across tiles.
+ */
+@SuppressWarnings("unused")
+public final class MapWall {
+
+    private MapWall() {
+    }
+
+    /**
+     * Convert an image into a grid of map canvases on the common pool
+     *
+     * @param image   image to convert, scaled to columns*128 x rows*128
+     * @param columns number of maps per row
+     * @param rows    number of rows
+     * @param dither  true to dither the tiles
+     * @return canvases indexed as [row][column]
+     */
+    public static byte[][][] convert(final BufferedImage image, final int columns, final int rows, final boolean dither) {
+        return convert(image, columns, rows, dither, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Convert an image into a grid of map canvases
+     *
+     * @param image   image to convert, scaled to columns*128 x rows*128
+     * @param columns number of maps per row
+     * @param rows    number of rows
+     * @param dither  true to dither the tiles
+     * @param pool    {@link ForkJoinPool} running the conversions
+     * @return canvases indexed as [row][column]
+     */
+    public static byte[][][] convert(final BufferedImage image, final int columns, final int rows, final boolean dither, final ForkJoinPool pool) {
+        if (columns <= 0 || rows <= 0) throw new IllegalArgumentException("Wall must be at least 1x1");
+        final int size = MapImageConverter.SIZE;
+        final BufferedImage scaled = MapImageConverter.scale(image, columns * size, rows * size);
+        final byte[][][] tiles = new byte[rows][columns][];
+        pool.invoke(new TileTask(scaled, tiles, dither, 0, columns * rows));
+        return tiles;
+    }
+
+    private static final class TileTask extends RecursiveAction {
+        private final BufferedImage image;
+        private final byte[][][] tiles;
+        private final boolean dither;
+        private final int from;
+        private final int to;
+
+        private TileTask(final BufferedImage image, final byte[][][] tiles, final boolean dither, final int from, final int to) {
+            this.image = image;
+            this.tiles = tiles;
+            this.dither = dither;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                final int middle = (from + to) >>> 1;
+                invokeAll(new TileTask(image, tiles, dither, from, middle), new TileTask(image, tiles, dither, middle, to));
+                return;
+            }
+            final int columns = tiles[0].length;
+            final int row = from / columns;
+            final int column = from % columns;
+            final int size = MapImageConverter.SIZE;
+            tiles[row][column] = MapImageConverter.convert(image.getSubimage(column * size, row * size, size, size), dither);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package me.luucka.extendlibrary.material;
+
+import org.bukkit.Material;
+
+/**
+ * MaterialCategory is a live handle on a category of a {@link MaterialCategoryRegistry}.
+ * <p>
+ * Keep the handle in a field and test membership from listeners: the handle always sees the
+ * latest reload, and {@link #contains(Material)} costs one bit lookup.
+ */
+@SuppressWarnings("unused")
+public final class MaterialCategory {
+
+    private final MaterialCategoryRegistry registry;
+    private final String id;
+    private final int index;
+
+    MaterialCategory(final MaterialCategoryRegistry registry, final String id, final int index) {
+        this.registry = registry;
+        this.id = id;
+        this.index = index;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return the current {@link MaterialSet} of the category, empty if the category is not defined
+     */
+    public MaterialSet get() {
+        return registry.table()[index];
+    }
+
+    public boolean contains(final Material material) {
+        return registry.table()[index].contains(material);
+    }
+}
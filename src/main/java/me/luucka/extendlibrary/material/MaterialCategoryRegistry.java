@@ -0,0 +1,237 @@
+package me.luucka.extendlibrary.material;
+
+import me.luucka.extendlibrary.material.exception.UnknownMaterialCategoryException;
+import me.luucka.extendlibrary.util.IStagedReload;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Tag;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.File;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+/**
+ * MaterialCategoryRegistry compiles named material categories, defined in code or in YAML files
+ * in the plugin data folder, into {@link MaterialSet}s.
+ * <p>
+ * Every top level section of a file is a category:
+ * <pre>
+ * ores:
+ *   materials: [ANCIENT_DEBRIS, "GOLD_ORE|GOLDEN_ORE"]
+ *   patterns: ["*_ORE"]
+ *   tags: [minecraft:coal_ores]
+ *   include: [gems]
+ *   exclude: [protected-blocks]
+ * </pre>
+ * {@code materials} entries may list alternative names separated by {@code |}, {@code patterns} are globs
+ * on the material name and {@code tags} are block or item tags. {@code include} and {@code exclude} refer
+ * to other categories. A category in a file replaces a code category with the same id.
+ * <p>
+ * {@link #reload()} compiles every category before publishing them together, readers never see a mix
+ * of old and new categories.
+ */
+@SuppressWarnings("unused")
+public class MaterialCategoryRegistry implements IStagedReload<Map<String, MaterialSet>> {
+
+    private final JavaPlugin plugin;
+
+    private final List<String> fileNames;
+
+    private final Map<String, Supplier<MaterialSet>> definitions = new ConcurrentHashMap<>();
+    private final Map<String, MaterialCategory> handles = new HashMap<>();
+
+    private volatile Map<String, MaterialSet> categories = Map.of();
+    private volatile MaterialSet[] table = new MaterialSet[0];
+
+    public MaterialCategoryRegistry(final JavaPlugin plugin, final String... fileNames) {
+        this.plugin = plugin;
+        this.fileNames = List.of(fileNames);
+        saveFiles();
+        reload();
+    }
+
+    private void saveFiles() {
+        for (final String fileName : fileNames) {
+            final File file = new File(plugin.getDataFolder(), fileName + ".yml");
+            if (!file.exists() && plugin.getResource(fileName + ".yml") != null) {
+                plugin.saveResource(fileName + ".yml", false);
+            }
+        }
+    }
+
+    /**
+     * Define a category in code, the definition is evaluated on every reload.
+     * Call {@link #reload()} to compile it.
+     *
+     * @param id         category id
+     * @param definition supplies the materials of the category
+     * @return this registry
+     */
+    public MaterialCategoryRegistry define(final String id, final Supplier<MaterialSet> definition) {
+        definitions.put(id, definition);
+        return this;
+    }
+
+    @Override
+    public Map<String, MaterialSet> prepare(final Dependencies dependencies) {
+        final Map<String, Supplier<MaterialSet>> sources = new HashMap<>(definitions);
+        final Map<String, ConfigurationSection> sections = new HashMap<>();
+        for (final String fileName : fileNames) {
+            final File file = new File(plugin.getDataFolder(), fileName + ".yml");
+            if (!file.exists()) {
+                plugin.getLogger().log(Level.WARNING, "Material category file " + file + " does not exist");
+                continue;
+            }
+            final YamlConfiguration config = YamlConfiguration.loadConfiguration(file);
+            for (final String id : config.getKeys(false)) {
+                final ConfigurationSection section = config.getConfigurationSection(id);
+                if (section == null) continue;
+                if (sections.containsKey(id)) {
+                    plugin.getLogger().log(Level.WARNING, "Duplicate material category " + id + " in " + file + ", skipped");
+                    continue;
+                }
+                sections.put(id, section);
+                sources.remove(id);
+            }
+        }
+
+        final Map<String, MaterialSet> compiled = new HashMap<>();
+        final Set<String> compiling = new HashSet<>();
+        for (final String id : sources.keySet()) {
+            try {
+                compiled.put(id, sources.get(id).get());
+            } catch (final RuntimeException e) {
+                plugin.getLogger().log(Level.SEVERE, "Invalid material category " + id, e);
+            }
+        }
+        for (final String id : sections.keySet()) {
+            try {
+                compile(id, sections, compiled, compiling);
+            } catch (final IllegalArgumentException e) {
+                plugin.getLogger().log(Level.SEVERE, "Invalid material category " + id + ": " + e.getMessage());
+                compiling.clear();
+            }
+        }
+
+        return Map.copyOf(compiled);
+    }
+
+    @Override
+    public synchronized Map<String, MaterialSet> publish(final Map<String, MaterialSet> categories) {
+        final Map<String, MaterialSet> previous = this.categories;
+        this.categories = categories;
+        this.table = buildTable(categories);
+        return previous;
+    }
+
+    /**
+     * Return the materials of a category
+     *
+     * @param id category id
+     * @return the {@link MaterialSet}
+     * @throws UnknownMaterialCategoryException if no category has the given id
+     */
+    public MaterialSet get(final String id) throws UnknownMaterialCategoryException {
+        final MaterialSet set = categories.get(id);
+        if (set == null) {
+            throw new UnknownMaterialCategoryException(id);
+        }
+        return set;
+    }
+
+    /**
+     * Return a live handle on a category, the category does not need to exist yet
+     *
+     * @param id category id
+     * @return the {@link MaterialCategory}
+     */
+    public synchronized MaterialCategory category(final String id) {
+        MaterialCategory handle = handles.get(id);
+        if (handle == null) {
+            handle = new MaterialCategory(this, id, handles.size());
+            handles.put(id, handle);
+            this.table = buildTable(categories);
+        }
+        return handle;
+    }
+
+    public boolean contains(final String id) {
+        return categories.containsKey(id);
+    }
+
+    /**
+     * @return an immutable snapshot of every loaded category id
+     */
+    public Set<String> getIds() {
+        return categories.keySet();
+    }
+
+    MaterialSet[] table() {
+        return table;
+    }
+
+    private MaterialSet[] buildTable(final Map<String, MaterialSet> categories) {
+        final MaterialSet[] table = new MaterialSet[handles.size()];
+        for (final MaterialCategory handle : handles.values()) {
+            table[handle.getIndex()] = categories.getOrDefault(handle.getId(), MaterialSet.empty());
+        }
+        return table;
+    }
+
+    private MaterialSet compile(final String id, final Map<String, ConfigurationSection> sections,
+                                final Map<String, MaterialSet> compiled, final Set<String> compiling) {
+        final MaterialSet done = compiled.get(id);
+        if (done != null) return done;
+        final ConfigurationSection section = sections.get(id);
+        if (section == null) {
+            throw new IllegalArgumentException("unknown category " + id);
+        }
+        if (!compiling.add(id)) {
+            throw new IllegalArgumentException("category " + id + " includes itself");
+        }
+
+        MaterialSet set = MaterialSet.empty();
+        for (final String entry : section.getStringList("materials")) {
+            final MaterialSet named = MaterialSet.named(entry.toUpperCase(Locale.ROOT).split("\\|"));
+            if (named.isEmpty()) {
+                throw new IllegalArgumentException("unknown material " + entry);
+            }
+            set = set.union(named);
+        }
+        for (final String glob : section.getStringList("patterns")) {
+            set = set.union(MaterialSet.matching(glob));
+        }
+        for (final String name : section.getStringList("tags")) {
+            set = set.union(MaterialSet.tagged(tag(name)));
+        }
+        for (final String include : section.getStringList("include")) {
+            set = set.union(compile(include, sections, compiled, compiling));
+        }
+        for (final String exclude : section.getStringList("exclude")) {
+            set = set.difference(compile(exclude, sections, compiled, compiling));
+        }
+
+        compiling.remove(id);
+        compiled.put(id, set);
+        return set;
+    }
+
+    private static Tag<Material> tag(final String name) {
+        final NamespacedKey key = NamespacedKey.fromString(name.toLowerCase(Locale.ROOT));
+        if (key == null) {
+            throw new IllegalArgumentException("invalid tag " + name);
+        }
+        Tag<Material> tag = Bukkit.getTag(Tag.REGISTRY_BLOCKS, key, Material.class);
+        if (tag == null) tag = Bukkit.getTag(Tag.REGISTRY_ITEMS, key, Material.class);
+        if (tag == null) {
+            throw new IllegalArgumentException("unknown tag " + name);
+        }
+        return tag;
+    }
+}
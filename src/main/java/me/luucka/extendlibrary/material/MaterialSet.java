@@ -0,0 +1,188 @@
+package me.luucka.extendlibrary.material;
+
+import me.luucka.extendlibrary.util.EnumUtil;
+import org.bukkit.Material;
+import org.bukkit.Tag;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * MaterialSet is an immutable set of materials stored as a bitset indexed by {@link Material#ordinal()}.
+ * <p>
+ * Membership is a single array read and bit test. Sets are combined with {@link #union(MaterialSet)},
+ * {@link #intersection(MaterialSet)} and {@link #difference(MaterialSet)}, which work a word at a time.
+ */
+@SuppressWarnings("unused")
+public final class MaterialSet {
+
+    private static final Material[] MATERIALS = Material.values();
+    private static final int WORDS = (MATERIALS.length + 63) >>> 6;
+
+    private static final MaterialSet EMPTY = new MaterialSet(new long[WORDS]);
+    private static final MaterialSet ALL;
+
+    static {
+        final long[] words = new long[WORDS];
+        for (final Material material : MATERIALS) {
+            set(words, material);
+        }
+        ALL = new MaterialSet(words);
+    }
+
+    private final long[] words;
+    private final int size;
+
+    private MaterialSet(final long[] words) {
+        this.words = words;
+        int size = 0;
+        for (final long word : words) {
+            size += Long.bitCount(word);
+        }
+        this.size = size;
+    }
+
+    public static MaterialSet empty() {
+        return EMPTY;
+    }
+
+    public static MaterialSet all() {
+        return ALL;
+    }
+
+    public static MaterialSet of(final Material... materials) {
+        return of(Arrays.asList(materials));
+    }
+
+    public static MaterialSet of(final Collection<Material> materials) {
+        final long[] words = new long[WORDS];
+        for (final Material material : materials) {
+            set(words, material);
+        }
+        return new MaterialSet(words);
+    }
+
+    /**
+     * Return the materials with the given names, names that do not exist on this server are ignored
+     *
+     * @param names material names, e.g. legacy and current names of the same material
+     * @return the {@link MaterialSet}
+     */
+    public static MaterialSet named(final String... names) {
+        return of(EnumUtil.getAllMatching(Material.class, names));
+    }
+
+    /**
+     * Return the materials whose name matches a glob, where {@code *} matches any sequence of characters
+     *
+     * @param glob glob to match, case-insensitive, e.g. {@code *_ORE}
+     * @return the {@link MaterialSet}
+     */
+    public static MaterialSet matching(final String glob) {
+        final StringBuilder regex = new StringBuilder();
+        for (final String part : glob.split("\\*", -1)) {
+            if (!regex.isEmpty()) regex.append(".*");
+            if (!part.isEmpty()) regex.append(Pattern.quote(part));
+        }
+        return matching(Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE));
+    }
+
+    /**
+     * Return the materials whose name fully matches a pattern
+     *
+     * @param pattern {@link Pattern} to match
+     * @return the {@link MaterialSet}
+     */
+    public static MaterialSet matching(final Pattern pattern) {
+        final long[] words = new long[WORDS];
+        for (final Material material : MATERIALS) {
+            if (pattern.matcher(material.name()).matches()) set(words, material);
+        }
+        return new MaterialSet(words);
+    }
+
+    /**
+     * Return the materials of a server tag
+     *
+     * @param tag the {@link Tag}
+     * @return the {@link MaterialSet}
+     */
+    public static MaterialSet tagged(final Tag<Material> tag) {
+        return of(tag.getValues());
+    }
+
+    public boolean contains(final Material material) {
+        final int ordinal = material.ordinal();
+        return (words[ordinal >>> 6] & 1L << ordinal) != 0;
+    }
+
+    public MaterialSet union(final MaterialSet other) {
+        final long[] result = new long[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            result[i] = words[i] | other.words[i];
+        }
+        return new MaterialSet(result);
+    }
+
+    public MaterialSet intersection(final MaterialSet other) {
+        final long[] result = new long[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            result[i] = words[i] & other.words[i];
+        }
+        return new MaterialSet(result);
+    }
+
+    public MaterialSet difference(final MaterialSet other) {
+        final long[] result = new long[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            result[i] = words[i] & ~other.words[i];
+        }
+        return new MaterialSet(result);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return a new mutable {@link EnumSet} with the materials of this set
+     */
+    public Set<Material> toSet() {
+        final Set<Material> set = EnumSet.noneOf(Material.class);
+        for (int i = 0; i < WORDS; i++) {
+            long word = words[i];
+            while (word != 0) {
+                set.add(MATERIALS[(i << 6) + Long.numberOfTrailingZeros(word)]);
+                word &= word - 1;
+            }
+        }
+        return set;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        return o instanceof MaterialSet other && Arrays.equals(words, other.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+
+    @Override
+    public String toString() {
+        return toSet().toString();
+    }
+
+    private static void set(final long[] words, final Material material) {
+        final int ordinal = material.ordinal();
+        words[ordinal >>> 6] |= 1L << ordinal;
+    }
+}
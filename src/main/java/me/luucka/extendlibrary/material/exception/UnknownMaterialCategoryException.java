@@ -0,0 +1,15 @@
+package me.luucka.extendlibrary.material.exception;
+
+public class UnknownMaterialCategoryException extends IllegalArgumentException {
+    private final String categoryId;
+
+    public UnknownMaterialCategoryException(String categoryId) {
+        super("Unknown material category " + categoryId);
+        this.categoryId = categoryId;
+    }
+
+    @SuppressWarnings("unused")
+    public String getCategoryId() {
+        return categoryId;
+    }
+}
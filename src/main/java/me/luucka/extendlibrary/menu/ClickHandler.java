@@ -0,0 +1,15 @@
+package me.luucka.extendlibrary.menu;
+
+import org.bukkit.event.inventory.InventoryClickEvent;
+
+@FunctionalInterface
+public interface ClickHandler {
+
+    /**
+     * Called when a viewer clicks a slot of a {@link Menu}. The event is already cancelled.
+     *
+     * @param event the click event
+     */
+    void onClick(InventoryClickEvent event);
+
+}
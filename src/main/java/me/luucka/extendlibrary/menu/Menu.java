@@ -0,0 +1,163 @@
+package me.luucka.extendlibrary.menu;
+
+import me.luucka.extendlibrary.item.ItemTemplate;
+import me.luucka.extendlibrary.util.ItemBuilder;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Menu is a chest GUI that only pushes the slots whose item changed.
+ * <p>
+ * Subclasses fill the slots in {@link #draw()} with {@link #setItem(int, ItemStack, ClickHandler)}.
+ * Every {@link #refresh()} redraws into a scratch buffer, compares it with the last sent state and
+ * calls {@link Inventory#setItem(int, ItemStack)} only for the changed slots.
+ * Refreshes requested during the same tick are coalesced into one.
+ * <p>
+ * Create one menu per viewer, menus must be used from the main thread except for {@link #refresh()}.
+ */
+@SuppressWarnings("unused")
+public abstract class Menu implements InventoryHolder {
+
+    protected final JavaPlugin plugin;
+
+    private final Inventory inventory;
+    private ItemStack[] sent;
+    private ItemStack[] next;
+    private ClickHandler[] handlers;
+    private ClickHandler[] nextHandlers;
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean(false);
+
+    /**
+     * Constructor
+     *
+     * @param plugin your plugin class extends {@link JavaPlugin}
+     * @param size   inventory size, a multiple of 9
+     * @param title  inventory title
+     */
+    protected Menu(final JavaPlugin plugin, final int size, final Component title) {
+        this.plugin = plugin;
+        this.inventory = Bukkit.createInventory(this, size, title);
+        this.sent = new ItemStack[size];
+        this.next = new ItemStack[size];
+        this.handlers = new ClickHandler[size];
+        this.nextHandlers = new ClickHandler[size];
+        MenuListener.register(plugin);
+    }
+
+    /**
+     * Fill the slots of the menu, called on every refresh
+     */
+    protected abstract void draw();
+
+    /**
+     * Called when a viewer closes the menu
+     *
+     * @param event the close event
+     */
+    protected void onClose(final InventoryCloseEvent event) {
+    }
+
+    /**
+     * Set the item of a slot, only valid inside {@link #draw()}
+     *
+     * @param slot    slot index
+     * @param item    item to show, null for an empty slot
+     * @param handler action run on click, null for none
+     */
+    protected final void setItem(final int slot, final ItemStack item, final ClickHandler handler) {
+        next[slot] = item;
+        nextHandlers[slot] = handler;
+    }
+
+    protected final void setItem(final int slot, final ItemStack item) {
+        setItem(slot, item, null);
+    }
+
+    protected final void setItem(final int slot, final ItemBuilder item, final ClickHandler handler) {
+        setItem(slot, item.build(), handler);
+    }
+
+    protected final void setItem(final int slot, final ItemTemplate item, final ClickHandler handler) {
+        setItem(slot, item.build(), handler);
+    }
+
+    /**
+     * Draw the menu and open it to the given player
+     *
+     * @param player the viewer
+     */
+    public void open(final Player player) {
+        refreshNow();
+        player.openInventory(inventory);
+    }
+
+    /**
+     * Request a refresh on the next tick, multiple requests in the same tick are coalesced.
+     * Safe to call from any thread.
+     */
+    public void refresh() {
+        if (refreshScheduled.compareAndSet(false, true)) {
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                refreshScheduled.set(false);
+                refreshNow();
+            });
+        }
+    }
+
+    /**
+     * Redraw the menu now and push the changed slots
+     *
+     * @return the number of slots sent to the viewers
+     */
+    public int refreshNow() {
+        Arrays.fill(next, null);
+        Arrays.fill(nextHandlers, null);
+        draw();
+
+        int changed = 0;
+        for (int slot = 0; slot < next.length; slot++) {
+            final ItemStack item = next[slot];
+            if (item != sent[slot] && !Objects.equals(item, sent[slot])) {
+                inventory.setItem(slot, item);
+                changed++;
+            }
+        }
+
+        final ItemStack[] items = sent;
+        sent = next;
+        next = items;
+        final ClickHandler[] clicks = handlers;
+        handlers = nextHandlers;
+        nextHandlers = clicks;
+        return changed;
+    }
+
+    @Override
+    public @NotNull Inventory getInventory() {
+        return inventory;
+    }
+
+    void handleClick(final InventoryClickEvent event) {
+        event.setCancelled(true);
+        final int slot = event.getRawSlot();
+        if (slot < 0 || slot >= handlers.length) return;
+        final ClickHandler handler = handlers[slot];
+        if (handler != null) handler.onClick(event);
+    }
+
+    void handleClose(final InventoryCloseEvent event) {
+        onClose(event);
+    }
+}
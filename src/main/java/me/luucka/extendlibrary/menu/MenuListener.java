@@ -0,0 +1,51 @@
+package me.luucka.extendlibrary.menu;
+
+import org.bukkit.Bukkit;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.plugin.Plugin;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dispatch inventory events to the {@link Menu} of the top inventory, registered once per plugin
+ */
+final class MenuListener implements Listener {
+
+    private static final Set<String> REGISTERED = ConcurrentHashMap.newKeySet();
+
+    private MenuListener() {
+    }
+
+    static void register(final Plugin plugin) {
+        if (REGISTERED.add(plugin.getName())) {
+            Bukkit.getPluginManager().registerEvents(new MenuListener(), plugin);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOW)
+    public void onClick(final InventoryClickEvent event) {
+        if (event.getInventory().getHolder(false) instanceof Menu menu) {
+            menu.handleClick(event);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOW)
+    public void onDrag(final InventoryDragEvent event) {
+        if (event.getInventory().getHolder(false) instanceof Menu) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler
+    public void onClose(final InventoryCloseEvent event) {
+        if (event.getInventory().getHolder(false) instanceof Menu menu) {
+            menu.handleClose(event);
+        }
+    }
+}
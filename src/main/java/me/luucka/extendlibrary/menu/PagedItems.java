@@ -0,0 +1,162 @@
+package me.luucka.extendlibrary.menu;
+
+import me.luucka.extendlibrary.metrics.CacheStats;
+import me.luucka.extendlibrary.metrics.Metrics;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * PagedItems turns a list of entries into pages of {@link ItemStack}, building a page only when it is requested.
+ * <p>
+ * Counting pages never builds an item, and opening any page costs the same: the entries of that page are
+ * rendered and the pages around it are prefetched on the given executor. Built pages are kept in a bounded
+ * LRU cache.
+ * <p>
+ * The entry list must not change while in use, pass a snapshot (e.g. {@link List#copyOf}) and create a new
+ * instance when the data changes. When an executor is given the renderer runs on it, so it must only read
+ * the entry it receives.
+ *
+ * @param <T> the entry type
+ */
+@SuppressWarnings("unused")
+public final class PagedItems<T> {
+
+    public static final int DEFAULT_CACHED_PAGES = 8;
+
+    private final List<T> entries;
+    private final int pageSize;
+    private final Function<T, ItemStack> renderer;
+    private final Executor executor;
+    private final Map<Integer, CompletableFuture<ItemStack[]>> pages;
+    private final CacheStats stats = Metrics.cache("paged-items");
+
+    /**
+     * Constructor, pages are built on request without prefetch
+     *
+     * @param entries  snapshot of the entries
+     * @param pageSize number of entries per page
+     * @param renderer build the item of an entry
+     */
+    public PagedItems(final List<T> entries, final int pageSize, final Function<T, ItemStack> renderer) {
+        this(entries, pageSize, renderer, null, DEFAULT_CACHED_PAGES);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param entries     snapshot of the entries
+     * @param pageSize    number of entries per page
+     * @param renderer    build the item of an entry
+     * @param executor    executor prefetching the previous and next pages, null to disable prefetch
+     * @param cachedPages maximum number of built pages kept in memory
+     */
+    public PagedItems(final List<T> entries, final int pageSize, final Function<T, ItemStack> renderer, final Executor executor, final int cachedPages) {
+        if (pageSize <= 0) throw new IllegalArgumentException("Page size must be positive");
+        this.entries = entries;
+        this.pageSize = pageSize;
+        this.renderer = renderer;
+        this.executor = executor;
+        this.pages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Integer, CompletableFuture<ItemStack[]>> eldest) {
+                return size() > Math.max(cachedPages, 1);
+            }
+        };
+    }
+
+    /**
+     * @return the number of pages, at least 1
+     */
+    public int getPageCount() {
+        return Math.max(1, (entries.size() + pageSize - 1) / pageSize);
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Return the items of a page, building it if needed, and prefetch the pages around it
+     *
+     * @param page page index, 0-based
+     * @return the items of the page, slots past the last entry are null
+     * @throws IndexOutOfBoundsException if the page does not exist
+     */
+    public ItemStack[] getPage(final int page) {
+        if (page < 0 || page >= getPageCount()) {
+            throw new IndexOutOfBoundsException("Page " + page + " out of bounds for length " + getPageCount());
+        }
+        final CompletableFuture<ItemStack[]> future;
+        synchronized (pages) {
+            future = pages.get(page);
+        }
+        ItemStack[] items = null;
+        if (future != null) {
+            try {
+                items = future.join();
+            } catch (final CompletionException ignored) {
+                // prefetch failed, build it again below
+            }
+        }
+        if (items == null) {
+            stats.miss();
+            items = build(page);
+            synchronized (pages) {
+                pages.put(page, CompletableFuture.completedFuture(items));
+            }
+        } else {
+            stats.hit();
+        }
+        if (executor != null) {
+            prefetch(page + 1);
+            prefetch(page - 1);
+        }
+        return items.clone();
+    }
+
+    /**
+     * Return the entry shown in a slot of a page
+     *
+     * @param page  page index, 0-based
+     * @param index index inside the page
+     * @return the entry, or null if the slot is past the last entry
+     */
+    public T getEntry(final int page, final int index) {
+        final long position = (long) page * pageSize + index;
+        return index < 0 || index >= pageSize || position < 0 || position >= entries.size() ? null : entries.get((int) position);
+    }
+
+    /**
+     * Drop every built page, e.g. when the renderer output changes
+     */
+    public void invalidate() {
+        synchronized (pages) {
+            pages.clear();
+        }
+    }
+
+    private void prefetch(final int page) {
+        if (page < 0 || page >= getPageCount()) return;
+        synchronized (pages) {
+            if (pages.containsKey(page)) return;
+            pages.put(page, CompletableFuture.supplyAsync(() -> build(page), executor));
+        }
+    }
+
+    private ItemStack[] build(final int page) {
+        final ItemStack[] items = new ItemStack[pageSize];
+        final int from = page * pageSize;
+        final int to = Math.min(entries.size(), from + pageSize);
+        for (int i = from; i < to; i++) {
+            items[i - from] = renderer.apply(entries.get(i));
+        }
+        return items;
+    }
+}
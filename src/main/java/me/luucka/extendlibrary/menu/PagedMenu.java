@@ -0,0 +1,109 @@
+package me.luucka.extendlibrary.menu;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.java.JavaPlugin;
+
+/**
+ * PagedMenu is a {@link Menu} showing one page of a {@link PagedItems} in its content slots.
+ * <p>
+ * Subclasses draw the navigation buttons in {@link #drawControls()}, typically with
+ * {@code this::previousPage} and {@code this::nextPage} as click handlers.
+ *
+ * @param <T> the entry type
+ */
+@SuppressWarnings("unused")
+public abstract class PagedMenu<T> extends Menu {
+
+    private final int[] contentSlots;
+    private PagedItems<T> items;
+    private int page = 0;
+
+    /**
+     * Constructor
+     *
+     * @param plugin       your plugin class extends {@link JavaPlugin}
+     * @param size         inventory size, a multiple of 9
+     * @param title        inventory title
+     * @param contentSlots slots showing the entries, in page order
+     * @param items        the entries, its page size must match the number of content slots
+     */
+    protected PagedMenu(final JavaPlugin plugin, final int size, final Component title, final int[] contentSlots, final PagedItems<T> items) {
+        super(plugin, size, title);
+        this.contentSlots = contentSlots.clone();
+        setItems(items);
+    }
+
+    /**
+     * Draw everything but the content slots
+     */
+    protected abstract void drawControls();
+
+    /**
+     * Called when a viewer clicks an entry
+     *
+     * @param event the click event
+     * @param entry the clicked entry
+     */
+    protected abstract void onEntryClick(InventoryClickEvent event, T entry);
+
+    @Override
+    protected final void draw() {
+        final ItemStack[] content = items.getPage(page);
+        for (int i = 0; i < contentSlots.length; i++) {
+            final T entry = items.getEntry(page, i);
+            setItem(contentSlots[i], content[i], entry == null ? null : event -> onEntryClick(event, entry));
+        }
+        drawControls();
+    }
+
+    /**
+     * Replace the entries, e.g. with a new snapshot, keeping the current page when possible
+     *
+     * @param items the entries, its page size must match the number of content slots
+     */
+    public void setItems(final PagedItems<T> items) {
+        if (items.getPageSize() != contentSlots.length) {
+            throw new IllegalArgumentException("Page size " + items.getPageSize() + " does not match " + contentSlots.length + " content slots");
+        }
+        this.items = items;
+        this.page = Math.min(page, items.getPageCount() - 1);
+    }
+
+    /**
+     * Show the given page
+     *
+     * @param page page index, 0-based, clamped to the existing pages
+     */
+    public void setPage(final int page) {
+        final int clamped = Math.max(0, Math.min(page, items.getPageCount() - 1));
+        if (clamped == this.page) return;
+        this.page = clamped;
+        refresh();
+    }
+
+    public void nextPage(final InventoryClickEvent event) {
+        setPage(page + 1);
+    }
+
+    public void previousPage(final InventoryClickEvent event) {
+        setPage(page - 1);
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public int getPageCount() {
+        return items.getPageCount();
+    }
+
+    public boolean hasNextPage() {
+        return page + 1 < items.getPageCount();
+    }
+
+    public boolean hasPreviousPage() {
+        return page > 0;
+    }
+}
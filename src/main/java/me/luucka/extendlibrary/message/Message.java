@@ -2,7 +2,7 @@ package me.luucka.extendlibrary.message;
 
 import me.luucka.extendlibrary.message.exception.UnknownMessageKeyException;
 import me.luucka.extendlibrary.message.serializer.*;
-import me.luucka.extendlibrary.util.IReload;
+import me.luucka.extendlibrary.util.IStagedReload;
 import net.kyori.adventure.text.TextComponent;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
@@ -25,7 +25,12 @@ import java.util.Map;
 import java.util.ResourceBundle;
 import java.util.logging.Level;
 
-public class Message implements IReload {
+/**
+ * Message loads the messages of a properties file and builds them with {@link MessageBuilder}.
+ * <p>
+ * The loaded messages are a {@link Bundle}, replaced as a whole on reload so readers never see a partial file.
+ */
+public class Message implements IStagedReload<Message.Bundle> {
 
     private final JavaPlugin plugin;
 
@@ -34,7 +39,7 @@ public class Message implements IReload {
     private final File file;
 
     private final Map<Class<?>, TypeSerializer<?>> serializerMap = new HashMap<>();
-    private final Map<String, String> messages = new HashMap<>();
+    private volatile Bundle bundle;
 
     public Message(final JavaPlugin plugin, final String fileName) {
         this.plugin = plugin;
@@ -62,8 +67,7 @@ public class Message implements IReload {
     }
 
     @Override
-    public void reload() {
-        messages.clear();
+    public Bundle prepare(final Dependencies dependencies) {
         URL[] urls;
         try {
             urls = new URL[]{plugin.getDataFolder().toURI().toURL()};
@@ -71,14 +75,27 @@ public class Message implements IReload {
             throw new RuntimeException(e);
         }
         ResourceBundle resourceBundle = ResourceBundle.getBundle(fileName, Locale.getDefault(), new URLClassLoader(urls));
+        final Map<String, String> messages = new HashMap<>();
         resourceBundle.keySet().forEach(key -> messages.put(key, resourceBundle.getString(key)));
+        return new Bundle(messages);
     }
 
-    private String getMessage(String messageKey) throws UnknownMessageKeyException {
-        if (!messages.containsKey(messageKey)) {
-            throw new UnknownMessageKeyException(messageKey);
-        }
-        return messages.get(messageKey);
+    @Override
+    public Bundle publish(final Bundle bundle) {
+        final Bundle previous = this.bundle;
+        this.bundle = bundle;
+        return previous;
+    }
+
+    /**
+     * @return the published messages
+     */
+    public Bundle getBundle() {
+        return bundle;
+    }
+
+    public String getRawMessage(String messageKey) throws UnknownMessageKeyException {
+        return bundle.getRawMessage(messageKey);
     }
 
     public <T> void registerSerializer(Class<T> type, TypeSerializer<? super T> serializer) {
@@ -105,6 +122,34 @@ public class Message implements IReload {
     }
 
     public MessageBuilder from(String messageKey) {
-        return new MessageBuilder(serializerMap, getMessage(messageKey), getMessage("prefix"));
+        return bundle.from(messageKey);
+    }
+
+    /**
+     * An immutable set of loaded messages.
+     */
+    public final class Bundle {
+
+        private final Map<String, String> messages;
+
+        private Bundle(final Map<String, String> messages) {
+            this.messages = Map.copyOf(messages);
+        }
+
+        private String getMessage(String messageKey) throws UnknownMessageKeyException {
+            final String message = messages.get(messageKey);
+            if (message == null) {
+                throw new UnknownMessageKeyException(messageKey);
+            }
+            return message;
+        }
+
+        public String getRawMessage(String messageKey) throws UnknownMessageKeyException {
+            return getMessage(messageKey).replace("<prefix>", getMessage("prefix"));
+        }
+
+        public MessageBuilder from(String messageKey) {
+            return new MessageBuilder(serializerMap, getMessage(messageKey), getMessage("prefix"), messageKey);
+        }
     }
 }
@@ -2,6 +2,8 @@ package me.luucka.extendlibrary.message;
 
 import me.luucka.extendlibrary.message.exception.MissingSerializerException;
 import me.luucka.extendlibrary.message.serializer.TypeSerializer;
+import me.luucka.extendlibrary.metrics.LatencyHistogram;
+import me.luucka.extendlibrary.metrics.Metrics;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.MiniMessage;
@@ -13,16 +15,32 @@ import java.time.temporal.TemporalAccessor;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class MessageBuilder {
+    // histograms resolved once per serializer class and message key, not per call
+    private static final ClassValue<LatencyHistogram> SERIALIZER_TIMES = new ClassValue<>() {
+        @Override
+        protected LatencyHistogram computeValue(final Class<?> type) {
+            return Metrics.histogram("serializer." + type.getSimpleName());
+        }
+    };
+    private static final Map<String, LatencyHistogram> MESSAGE_TIMES = new ConcurrentHashMap<>();
+
     private final Map<Class<?>, TypeSerializer<?>> serializerMap;
     private final String message;
+    private final String messageKey;
 
     private final Set<TagResolver> replacements = new HashSet<>();
 
     public MessageBuilder(Map<Class<?>, TypeSerializer<?>> serializerMap, String message, String prefix) {
+        this(serializerMap, message, prefix, null);
+    }
+
+    public MessageBuilder(Map<Class<?>, TypeSerializer<?>> serializerMap, String message, String prefix, String messageKey) {
         this.serializerMap = serializerMap;
         this.message = message.replace("<prefix>", prefix);
+        this.messageKey = messageKey;
     }
 
     public <T> MessageBuilder with(String key, T value) {
@@ -44,6 +62,13 @@ public class MessageBuilder {
         }
 
         TypeSerializer<T> serializer = serializer1;
+        if (Metrics.isEnabled()) {
+            final long start = System.nanoTime();
+            final Component component = serializer.serialize(value);
+            SERIALIZER_TIMES.get(serializer.getClass()).record(System.nanoTime() - start);
+            replacements.add(Placeholder.component(key, component));
+            return this;
+        }
         replacements.add(Placeholder.component(key, serializer.serialize(value)));
         return this;
     }
@@ -69,10 +94,25 @@ public class MessageBuilder {
     }
 
     public Component build() {
+        if (Metrics.isEnabled() && messageKey != null) {
+            final long start = System.nanoTime();
+            final Component component = render();
+            messageTimes(messageKey).record(System.nanoTime() - start);
+            return component;
+        }
+        return render();
+    }
+
+    private Component render() {
         TagResolver tagResolver = TagResolver.builder().resolvers(replacements).build();
         return MiniMessage.miniMessage().deserialize(message, tagResolver);
     }
 
+    private static LatencyHistogram messageTimes(final String messageKey) {
+        final LatencyHistogram histogram = MESSAGE_TIMES.get(messageKey);
+        return histogram != null ? histogram : MESSAGE_TIMES.computeIfAbsent(messageKey, key -> Metrics.histogram("message." + key));
+    }
+
     public void send(Audience audience) {
         audience.sendMessage(this::build);
     }
@@ -0,0 +1,46 @@
+package me.luucka.extendlibrary.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * CacheStats counts hits and misses of a cache, only while {@link Metrics} is enabled.
+ */
+@SuppressWarnings("unused")
+public final class CacheStats {
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    CacheStats() {
+    }
+
+    public void hit() {
+        if (Metrics.isEnabled()) hits.increment();
+    }
+
+    public void miss() {
+        if (Metrics.isEnabled()) misses.increment();
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(hits.sum(), misses.sum());
+    }
+
+    void reset() {
+        hits.reset();
+        misses.reset();
+    }
+
+    /**
+     * Point in time view of a cache.
+     *
+     * @param hits   number of hits
+     * @param misses number of misses
+     */
+    public record Snapshot(long hits, long misses) {
+        public double hitRate() {
+            final long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+    }
+}
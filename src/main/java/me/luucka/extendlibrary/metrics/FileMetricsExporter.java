@@ -0,0 +1,57 @@
+package me.luucka.extendlibrary.metrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * FileMetricsExporter writes every snapshot to a local text file, replacing the previous one.
+ * <p>
+ * The file is written to a sibling temporary file and moved into place, so readers never see a partial snapshot.
+ */
+@SuppressWarnings("unused")
+public final class FileMetricsExporter implements MetricsExporter {
+
+    private final Path file;
+
+    public FileMetricsExporter(final Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public void export(final MetricsSnapshot snapshot) throws IOException {
+        if (file.getParent() != null) Files.createDirectories(file.getParent());
+        final Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            writer.write("# " + snapshot.time());
+            writer.newLine();
+            for (final Map.Entry<String, Long> counter : snapshot.counters().entrySet()) {
+                writer.write("counter " + counter.getKey() + " " + counter.getValue());
+                writer.newLine();
+            }
+            for (final Map.Entry<String, LatencyHistogram.Snapshot> histogram : snapshot.histograms().entrySet()) {
+                final LatencyHistogram.Snapshot value = histogram.getValue();
+                writer.write(String.format(Locale.ROOT, "latency %s count=%d mean=%.3fms p50<=%.3fms p90<=%.3fms p99<=%.3fms",
+                        histogram.getKey(), value.count(), millis(value.meanNanos()),
+                        millis(value.p50Nanos()), millis(value.p90Nanos()), millis(value.p99Nanos())));
+                writer.newLine();
+            }
+            for (final Map.Entry<String, CacheStats.Snapshot> cache : snapshot.caches().entrySet()) {
+                final CacheStats.Snapshot value = cache.getValue();
+                writer.write(String.format(Locale.ROOT, "cache %s hits=%d misses=%d hit-rate=%.1f%%",
+                        cache.getKey(), value.hits(), value.misses(), value.hitRate() * 100));
+                writer.newLine();
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static double millis(final long nanos) {
+        return nanos / 1_000_000D;
+    }
+}
@@ -0,0 +1,78 @@
+package me.luucka.extendlibrary.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LatencyHistogram counts durations in fixed power-of-two buckets, from 1 ns to about 9 minutes.
+ * <p>
+ * Recording is lock-free: one {@link LongAdder} increment for the bucket and one add for the sum.
+ * Percentiles are approximate, reported as the upper bound of their bucket.
+ */
+@SuppressWarnings("unused")
+public final class LatencyHistogram {
+
+    private static final int BUCKETS = 40;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder sum = new LongAdder();
+
+    LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Record a duration
+     *
+     * @param nanos duration in nanoseconds
+     */
+    public void record(final long nanos) {
+        final long value = Math.max(nanos, 1);
+        buckets[Math.min(63 - Long.numberOfLeadingZeros(value), BUCKETS - 1)].increment();
+        sum.add(value);
+    }
+
+    public Snapshot snapshot() {
+        final long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+        return new Snapshot(total, sum.sum(), percentile(counts, total, 0.50), percentile(counts, total, 0.90), percentile(counts, total, 0.99));
+    }
+
+    void reset() {
+        for (final LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        sum.reset();
+    }
+
+    private static long percentile(final long[] counts, final long total, final double percentile) {
+        if (total == 0) return 0;
+        final long rank = (long) Math.ceil(total * percentile);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) return (1L << (i + 1)) - 1;
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Point in time view of a histogram.
+     *
+     * @param count    number of recorded durations
+     * @param sumNanos sum of the recorded durations
+     * @param p50Nanos median, upper bound of its bucket
+     * @param p90Nanos 90th percentile, upper bound of its bucket
+     * @param p99Nanos 99th percentile, upper bound of its bucket
+     */
+    public record Snapshot(long count, long sumNanos, long p50Nanos, long p90Nanos, long p99Nanos) {
+        public long meanNanos() {
+            return count == 0 ? 0 : sumNanos / count;
+        }
+    }
+}
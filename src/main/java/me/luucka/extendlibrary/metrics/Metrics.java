@@ -0,0 +1,131 @@
+package me.luucka.extendlibrary.metrics;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Metrics is the optional instrumentation of the library: message render counts and latencies per key,
+ * serializer timings, cache hit rates and {@code ItemBuilder.build()} counts.
+ * <p>
+ * Disabled by default. While disabled, instrumented code only reads one volatile flag. While enabled,
+ * recording is lock-free ({@link LongAdder}s and fixed-size histograms).
+ * <pre>
+ * Metrics.setEnabled(true);
+ * final Closeable export = Metrics.export(new FileMetricsExporter(plugin.getDataFolder().toPath().resolve("metrics.txt")), Duration.ofMinutes(1));
+ * </pre>
+ */
+@SuppressWarnings("unused")
+public final class Metrics {
+
+    private static final Map<String, LongAdder> COUNTERS = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> HISTOGRAMS = new ConcurrentHashMap<>();
+    private static final Map<String, CacheStats> CACHES = new ConcurrentHashMap<>();
+
+    private static volatile boolean enabled = false;
+
+    private Metrics() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(final boolean enabled) {
+        Metrics.enabled = enabled;
+    }
+
+    /**
+     * Return the counter with the given name, creating it if absent. Keep it in a static field on hot paths.
+     *
+     * @param name counter name
+     * @return the {@link LongAdder}, increment it only while {@link #isEnabled()}
+     */
+    public static LongAdder counter(final String name) {
+        return COUNTERS.computeIfAbsent(name, k -> new LongAdder());
+    }
+
+    /**
+     * Return the histogram with the given name, creating it if absent
+     *
+     * @param name histogram name
+     * @return the {@link LatencyHistogram}, record only while {@link #isEnabled()}
+     */
+    public static LatencyHistogram histogram(final String name) {
+        return HISTOGRAMS.computeIfAbsent(name, k -> new LatencyHistogram());
+    }
+
+    /**
+     * Return the cache statistics with the given name, creating them if absent
+     *
+     * @param name cache name
+     * @return the {@link CacheStats}, which ignore hits and misses while disabled
+     */
+    public static CacheStats cache(final String name) {
+        return CACHES.computeIfAbsent(name, k -> new CacheStats());
+    }
+
+    /**
+     * Record a duration in the named histogram if metrics are enabled
+     *
+     * @param name  histogram name
+     * @param nanos duration in nanoseconds
+     */
+    public static void record(final String name, final long nanos) {
+        if (enabled) histogram(name).record(nanos);
+    }
+
+    public static MetricsSnapshot snapshot() {
+        final Map<String, Long> counters = new TreeMap<>();
+        COUNTERS.forEach((name, counter) -> counters.put(name, counter.sum()));
+        final Map<String, LatencyHistogram.Snapshot> histograms = new TreeMap<>();
+        HISTOGRAMS.forEach((name, histogram) -> histograms.put(name, histogram.snapshot()));
+        final Map<String, CacheStats.Snapshot> caches = new TreeMap<>();
+        CACHES.forEach((name, cache) -> caches.put(name, cache.snapshot()));
+        return new MetricsSnapshot(Instant.now(), counters, histograms, caches);
+    }
+
+    /**
+     * Reset every metric to zero
+     */
+    public static void reset() {
+        COUNTERS.values().forEach(LongAdder::reset);
+        HISTOGRAMS.values().forEach(LatencyHistogram::reset);
+        CACHES.values().forEach(CacheStats::reset);
+    }
+
+    /**
+     * Export a snapshot periodically on a daemon thread
+     *
+     * @param exporter {@link MetricsExporter} receiving the snapshots
+     * @param period   time between two exports
+     * @return a handle that stops the export when closed
+     * @throws IllegalArgumentException if the period is shorter than 1 ms
+     */
+    public static Closeable export(final MetricsExporter exporter, final Duration period) {
+        if (period.toMillis() < 1) throw new IllegalArgumentException("Export period must be at least 1 ms");
+        final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "extend-library-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(() -> {
+            try {
+                exporter.export(snapshot());
+            } catch (final IOException | RuntimeException e) {
+                Logger.getLogger(Metrics.class.getName()).log(Level.WARNING, "Failed to export metrics", e);
+            }
+        }, period.toMillis(), period.toMillis(), TimeUnit.MILLISECONDS);
+        return executor::shutdown;
+    }
+}
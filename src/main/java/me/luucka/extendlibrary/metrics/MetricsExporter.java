@@ -0,0 +1,13 @@
+package me.luucka.extendlibrary.metrics;
+
+import java.io.IOException;
+
+/**
+ * Receives the periodic {@link MetricsSnapshot}s of {@link Metrics#export(MetricsExporter, java.time.Duration)}.
+ */
+@FunctionalInterface
+public interface MetricsExporter {
+
+    void export(MetricsSnapshot snapshot) throws IOException;
+
+}
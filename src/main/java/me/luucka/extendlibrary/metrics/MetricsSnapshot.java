@@ -0,0 +1,17 @@
+package me.luucka.extendlibrary.metrics;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Point in time view of every metric, sorted by name.
+ *
+ * @param time       when the snapshot was taken
+ * @param counters   counter values
+ * @param histograms latency histograms
+ * @param caches     cache hit and miss counts
+ */
+public record MetricsSnapshot(Instant time, Map<String, Long> counters,
+                              Map<String, LatencyHistogram.Snapshot> histograms,
+                              Map<String, CacheStats.Snapshot> caches) {
+}
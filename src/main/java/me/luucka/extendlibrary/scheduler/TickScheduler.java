@@ -0,0 +1,115 @@
+package me.luucka.extendlibrary.scheduler;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * TickScheduler spreads bulk work over several ticks of the main thread.
+ * <p>
+ * Work is submitted to named {@link WorkQueue}s. Every tick the scheduler runs queued items, highest
+ * priority queue first, until the per-tick budget is spent; whatever is left carries over to the next
+ * tick. Every non-empty queue runs at least one item per tick, so low priority queues are never starved.
+ * <pre>
+ * final TickScheduler scheduler = new TickScheduler(plugin, Duration.ofMillis(2));
+ * final WorkQueue broadcasts = scheduler.queue("broadcasts", 10);
+ * broadcasts.submit(Bukkit.getOnlinePlayers(), player -&gt; message.send(player, "announcement"));
+ * </pre>
+ */
+@SuppressWarnings("unused")
+public final class TickScheduler implements Closeable {
+
+    // replaced as a whole, the tick never sees a partially sorted list
+    private volatile List<WorkQueue> queues = List.of();
+    private boolean closed = false;
+    private final BukkitTask task;
+
+    private volatile long budgetNanos;
+    private volatile long lastTickNanos;
+
+    /**
+     * Constructor, starts the scheduler
+     *
+     * @param plugin your plugin class extends {@link JavaPlugin}
+     * @param budget time the scheduler may use every tick
+     */
+    public TickScheduler(final JavaPlugin plugin, final Duration budget) {
+        setBudget(budget);
+        this.task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+    }
+
+    /**
+     * Return the queue with the given name, creating it if absent
+     *
+     * @param name     queue name
+     * @param priority queues with a higher priority run first
+     * @return the {@link WorkQueue}
+     * @throws IllegalStateException if the scheduler is closed
+     */
+    public synchronized WorkQueue queue(final String name, final int priority) {
+        if (closed) throw new IllegalStateException("Scheduler is closed");
+        for (final WorkQueue queue : queues) {
+            if (queue.getName().equals(name)) return queue;
+        }
+        final WorkQueue queue = new WorkQueue(name, priority);
+        final List<WorkQueue> sorted = new ArrayList<>(queues);
+        sorted.add(queue);
+        sorted.sort(Comparator.comparingInt(WorkQueue::getPriority).reversed());
+        queues = List.copyOf(sorted);
+        return queue;
+    }
+
+    public void setBudget(final Duration budget) {
+        if (budget.isNegative() || budget.isZero()) throw new IllegalArgumentException("Budget must be positive");
+        this.budgetNanos = budget.toNanos();
+    }
+
+    public Duration getBudget() {
+        return Duration.ofNanos(budgetNanos);
+    }
+
+    /**
+     * @return time spent running work in the last tick
+     */
+    public Duration getLastTickTime() {
+        return Duration.ofNanos(lastTickNanos);
+    }
+
+    /**
+     * @return the statistics of every queue, highest priority first
+     */
+    public List<WorkQueue.Stats> getStats() {
+        final List<WorkQueue.Stats> stats = new ArrayList<>(queues.size());
+        for (final WorkQueue queue : queues) {
+            stats.add(queue.getStats());
+        }
+        return stats;
+    }
+
+    /**
+     * Stop the scheduler and cancel the queued work, later submissions fail
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        task.cancel();
+        for (final WorkQueue queue : queues) {
+            queue.close();
+        }
+    }
+
+    private void tick() {
+        final long start = System.nanoTime();
+        final long deadline = start + budgetNanos;
+        for (final WorkQueue queue : queues) {
+            queue.run(deadline);
+        }
+        lastTickNanos = System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,179 @@
+package me.luucka.extendlibrary.scheduler;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * WorkQueue holds the jobs of a {@link TickScheduler}, run in submission order on the main thread.
+ * <p>
+ * Jobs can be submitted from any thread. The returned future completes on the main thread once every
+ * item ran, exceptionally if an item throws (the rest of that job is skipped). Cancelling the future
+ * drops the remaining items. Once the {@link TickScheduler} is closed, submitting returns a failed future.
+ */
+@SuppressWarnings("unused")
+public final class WorkQueue {
+
+    private final String name;
+    private final int priority;
+
+    private final Queue<Job<?>> jobs = new ConcurrentLinkedQueue<>();
+    private final AtomicLong pendingItems = new AtomicLong();
+    private final AtomicLong processedItems = new AtomicLong();
+    private volatile boolean closed = false;
+
+    WorkQueue(final String name, final int priority) {
+        this.name = name;
+        this.priority = priority;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    /**
+     * Queue an action for every element of a collection
+     *
+     * @param items  the elements, copied on submission
+     * @param action action run on the main thread for each element
+     * @param <T>    element type
+     * @return a future completed once every element is processed
+     */
+    public <T> CompletableFuture<Void> submit(final Collection<? extends T> items, final Consumer<? super T> action) {
+        final List<? extends T> copy = List.copyOf(items);
+        return enqueue(new Job<>(copy.iterator(), action, copy.size()));
+    }
+
+    /**
+     * Queue an action for every element of an iterator, elements are pulled lazily on the main thread
+     *
+     * @param items  the elements
+     * @param action action run on the main thread for each element
+     * @param <T>    element type
+     * @return a future completed once the iterator is exhausted
+     */
+    public <T> CompletableFuture<Void> submit(final Iterator<? extends T> items, final Consumer<? super T> action) {
+        return enqueue(new Job<>(items, action, -1));
+    }
+
+    /**
+     * Queue a batch of tasks
+     *
+     * @param tasks tasks run on the main thread
+     * @return a future completed once every task ran
+     */
+    public CompletableFuture<Void> submit(final Runnable... tasks) {
+        return submit(List.of(tasks), Runnable::run);
+    }
+
+    /**
+     * @return the current {@link Stats} of the queue
+     */
+    public Stats getStats() {
+        final Job<?> oldest = jobs.peek();
+        final long lag = oldest == null ? 0 : (System.nanoTime() - oldest.submittedAt) / 1_000_000;
+        return new Stats(name, priority, jobs.size(), pendingItems.get(), processedItems.get(), lag);
+    }
+
+    void run(final long deadline) {
+        boolean first = true;
+        Job<?> job;
+        while ((job = jobs.peek()) != null) {
+            if (job.future.isDone()) {
+                finish(job);
+                continue;
+            }
+            // the iterator may throw as well, fail the job so it does not stay at the head
+            try {
+                while (job.hasNext()) {
+                    if (!first && System.nanoTime() >= deadline) return;
+                    first = false;
+                    if (job.known) pendingItems.decrementAndGet();
+                    job.runNext();
+                    processedItems.incrementAndGet();
+                }
+                job.future.complete(null);
+            } catch (final RuntimeException e) {
+                job.future.completeExceptionally(e);
+            }
+            finish(job);
+        }
+    }
+
+    void close() {
+        closed = true;
+        Job<?> job;
+        while ((job = jobs.poll()) != null) {
+            job.future.cancel(false);
+        }
+        pendingItems.set(0);
+    }
+
+    private CompletableFuture<Void> enqueue(final Job<?> job) {
+        if (closed) return closedFuture();
+        if (job.known) pendingItems.addAndGet(job.remaining);
+        jobs.add(job);
+        // closed while adding, the scheduler may have drained the queue already
+        if (closed && jobs.remove(job)) {
+            if (job.known) pendingItems.addAndGet(-job.remaining);
+            job.future.completeExceptionally(new IllegalStateException("Scheduler is closed"));
+        }
+        return job.future;
+    }
+
+    private static CompletableFuture<Void> closedFuture() {
+        return CompletableFuture.failedFuture(new IllegalStateException("Scheduler is closed"));
+    }
+
+    private void finish(final Job<?> job) {
+        jobs.remove(job);
+        if (job.known) pendingItems.addAndGet(-job.remaining);
+    }
+
+    private static final class Job<T> {
+        private final Iterator<? extends T> items;
+        private final Consumer<? super T> action;
+        private final boolean known;
+        private final long submittedAt = System.nanoTime();
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private long remaining;
+
+        private Job(final Iterator<? extends T> items, final Consumer<? super T> action, final long size) {
+            this.items = items;
+            this.action = action;
+            this.known = size >= 0;
+            this.remaining = Math.max(size, 0);
+        }
+
+        private boolean hasNext() {
+            return !future.isDone() && items.hasNext();
+        }
+
+        private void runNext() {
+            remaining--;
+            action.accept(items.next());
+        }
+    }
+
+    /**
+     * Statistics of a queue.
+     *
+     * @param name           queue name
+     * @param priority       queue priority
+     * @param pendingJobs    jobs not finished yet
+     * @param pendingItems   items left in jobs of known size, iterator jobs are not counted
+     * @param processedItems items run since the queue was created
+     * @param lagMillis      age of the oldest pending job, i.e. how far the queue is behind
+     */
+    public record Stats(String name, int priority, int pendingJobs, long pendingItems, long processedItems, long lagMillis) {
+    }
+}
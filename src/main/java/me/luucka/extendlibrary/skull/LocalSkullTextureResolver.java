@@ -0,0 +1,30 @@
+package me.luucka.extendlibrary.skull;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolve textures from an in-memory table, without any network access.
+ * Meant as a stand-in for {@link PaperSkullTextureResolver} in tests and offline servers.
+ */
+@SuppressWarnings("unused")
+public final class LocalSkullTextureResolver implements SkullTextureResolver {
+
+    private final Map<UUID, String> textures = new ConcurrentHashMap<>();
+
+    public LocalSkullTextureResolver put(final UUID owner, final String texture) {
+        textures.put(owner, texture);
+        return this;
+    }
+
+    public LocalSkullTextureResolver remove(final UUID owner) {
+        textures.remove(owner);
+        return this;
+    }
+
+    @Override
+    public String resolve(final UUID owner, final String name) {
+        return textures.get(owner);
+    }
+}
@@ -0,0 +1,23 @@
+package me.luucka.extendlibrary.skull;
+
+import com.destroystokyo.paper.profile.PlayerProfile;
+import com.destroystokyo.paper.profile.ProfileProperty;
+import org.bukkit.Bukkit;
+
+import java.util.UUID;
+
+/**
+ * Resolve textures by completing a {@link PlayerProfile} through the server, which may query Mojang
+ */
+public final class PaperSkullTextureResolver implements SkullTextureResolver {
+
+    @Override
+    public String resolve(final UUID owner, final String name) {
+        final PlayerProfile profile = Bukkit.createProfile(owner, name);
+        if (!profile.complete(true)) return null;
+        for (final ProfileProperty property : profile.getProperties()) {
+            if (property.getName().equals("textures")) return property.getValue();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,205 @@
+package me.luucka.extendlibrary.skull;
+
+import com.destroystokyo.paper.profile.PlayerProfile;
+import com.destroystokyo.paper.profile.ProfileProperty;
+import me.luucka.extendlibrary.item.data.DataKey;
+import me.luucka.extendlibrary.item.data.DataKeys;
+import me.luucka.extendlibrary.util.ItemBuilder;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.SkullMeta;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * SkullPipeline builds player heads without blocking the main thread.
+ * <p>
+ * {@link #head(UUID, String)} returns immediately: a textured head if the texture is cached,
+ * otherwise a placeholder head tagged with the owner while the texture is resolved on a worker thread.
+ * Once resolved, placeholders found in open inventories are swapped for the textured head, keeping
+ * the rest of their meta, and the {@link #onResolved(Consumer) listeners} are notified.
+ * Swaps are batched once per tick.
+ */
+@SuppressWarnings("unused")
+public final class SkullPipeline implements Closeable {
+
+    private final JavaPlugin plugin;
+    private final SkullTextureResolver resolver;
+    private final SkullTextureCache cache;
+    private final ExecutorService executor;
+    private final DataKey<byte[], UUID> ownerKey;
+    private final DataKey<String, String> nameKey;
+
+    private final Map<UUID, CompletableFuture<String>> pending = new ConcurrentHashMap<>();
+    private final Queue<UUID> resolved = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean swapScheduled = new AtomicBoolean(false);
+    private final List<Consumer<UUID>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructor
+     *
+     * @param plugin   your plugin class extends {@link JavaPlugin}
+     * @param resolver {@link SkullTextureResolver} used on cache misses
+     * @param cache    {@link SkullTextureCache} of resolved textures
+     * @param threads  number of worker threads
+     */
+    public SkullPipeline(final JavaPlugin plugin, final SkullTextureResolver resolver, final SkullTextureCache cache, final int threads) {
+        this.plugin = plugin;
+        this.resolver = resolver;
+        this.cache = cache;
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            final Thread thread = new Thread(runnable, plugin.getName() + "-skull-resolver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.ownerKey = DataKeys.of(plugin).uuid("skull_owner");
+        this.nameKey = DataKeys.of(plugin).string("skull_owner_name");
+    }
+
+    /**
+     * Return a head of the given player, textured if cached or a placeholder otherwise
+     *
+     * @param owner uuid of the player
+     * @param name  name of the player, may be null
+     * @return an {@link ItemBuilder} of the head, add name and lore before building it
+     */
+    public ItemBuilder head(final UUID owner, final String name) {
+        final ItemBuilder builder = new ItemBuilder(Material.PLAYER_HEAD);
+        final String texture = cache.get(owner);
+        if (texture != null) {
+            return builder.setSkullPlayerProfile(profileOf(owner, name, texture));
+        }
+        resolveMissing(owner, name);
+        builder.setPersistentData(ownerKey.with(owner));
+        if (name != null) builder.setPersistentData(nameKey.with(name));
+        return builder;
+    }
+
+    /**
+     * Resolve the texture of a player, from cache or on a worker thread
+     *
+     * @param owner uuid of the player
+     * @param name  name of the player, may be null
+     * @return a future completed with the base64 texture, or null if unknown
+     */
+    public CompletableFuture<String> resolve(final UUID owner, final String name) {
+        final String texture = cache.get(owner);
+        if (texture != null) return CompletableFuture.completedFuture(texture);
+        return resolveMissing(owner, name);
+    }
+
+    // the cache was already looked up by the caller
+    private CompletableFuture<String> resolveMissing(final UUID owner, final String name) {
+        final CompletableFuture<String> future = new CompletableFuture<>();
+        final CompletableFuture<String> existing = pending.putIfAbsent(owner, future);
+        if (existing != null) return existing;
+
+        future.whenComplete((resolvedTexture, error) -> {
+            pending.remove(owner, future);
+            if (error instanceof CancellationException) return;
+            if (error != null) {
+                plugin.getLogger().log(Level.WARNING, "Failed to resolve skull texture of " + owner, error);
+            } else if (resolvedTexture != null) {
+                cache.put(owner, resolvedTexture);
+                resolved.add(owner);
+                scheduleSwap();
+            }
+        });
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(resolver.resolve(owner, name));
+                } catch (final Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Register a listener called on the main thread after a texture is resolved and swapped in
+     *
+     * @param listener receives the owner uuid
+     */
+    public void onResolved(final Consumer<UUID> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Stop the workers and save the cache. Resolutions still queued or running are cancelled.
+     *
+     * @throws IOException if the cache cannot be saved
+     */
+    @Override
+    public void close() throws IOException {
+        executor.shutdownNow();
+        // dropped tasks never complete their future, a later resolve() of the owner would get it back
+        for (final CompletableFuture<String> future : pending.values()) {
+            future.cancel(false);
+        }
+        cache.save();
+    }
+
+    private void scheduleSwap() {
+        if (!plugin.isEnabled()) return;
+        if (swapScheduled.compareAndSet(false, true)) {
+            Bukkit.getScheduler().runTask(plugin, this::swap);
+        }
+    }
+
+    private void swap() {
+        swapScheduled.set(false);
+        final Set<UUID> owners = new HashSet<>();
+        UUID owner;
+        while ((owner = resolved.poll()) != null) owners.add(owner);
+        if (owners.isEmpty()) return;
+
+        final Set<Inventory> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (final Player player : Bukkit.getOnlinePlayers()) {
+            final Inventory inventory = player.getOpenInventory().getTopInventory();
+            if (visited.add(inventory)) swap(inventory, owners);
+        }
+        for (final UUID id : owners) {
+            for (final Consumer<UUID> listener : listeners) listener.accept(id);
+        }
+    }
+
+    private void swap(final Inventory inventory, final Set<UUID> owners) {
+        final ItemStack[] contents = inventory.getContents();
+        for (int slot = 0; slot < contents.length; slot++) {
+            final ItemStack item = contents[slot];
+            if (item == null || item.getType() != Material.PLAYER_HEAD || !item.hasItemMeta()) continue;
+            if (!(item.getItemMeta() instanceof SkullMeta meta)) continue;
+            final PersistentDataContainer container = meta.getPersistentDataContainer();
+            final UUID owner = ownerKey.get(container);
+            if (owner == null || !owners.contains(owner)) continue;
+            final String texture = cache.peek(owner);
+            if (texture == null) continue;
+            meta.setPlayerProfile(profileOf(owner, nameKey.get(container), texture));
+            ownerKey.remove(container);
+            nameKey.remove(container);
+            item.setItemMeta(meta);
+            inventory.setItem(slot, item);
+        }
+    }
+
+    private static PlayerProfile profileOf(final UUID owner, final String name, final String texture) {
+        final PlayerProfile profile = Bukkit.createProfile(owner, name);
+        profile.setProperty(new ProfileProperty("textures", texture));
+        return profile;
+    }
+}
@@ -0,0 +1,142 @@
+package me.luucka.extendlibrary.skull;
+
+import me.luucka.extendlibrary.metrics.CacheStats;
+import me.luucka.extendlibrary.metrics.Metrics;
+import me.luucka.extendlibrary.util.IStagedReload;
+import org.bukkit.Bukkit;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+/**
+ * SkullTextureCache keeps resolved skin textures in memory and in a local file, so restarts
+ * do not repeat the lookups. Entries expire after the given time to live.
+ * <p>
+ * File format: one "uuid expiresAtMillis texture" line per entry. Thread-safe.
+ */
+@SuppressWarnings("unused")
+public class SkullTextureCache implements IStagedReload<Map<UUID, SkullTextureCache.Entry>> {
+
+    private final Path file;
+    private final long ttlMillis;
+    private final CacheStats stats = Metrics.cache("skull-textures");
+    private volatile Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+
+    public SkullTextureCache(final Path file, final Duration ttl) {
+        this.file = file;
+        this.ttlMillis = ttl.toMillis();
+        try {
+            reload();
+        } catch (final IllegalStateException e) {
+            Bukkit.getLogger().log(Level.SEVERE, "Failed to load skull texture cache " + file, e.getCause());
+        }
+    }
+
+    /**
+     * Return the cached texture of a player
+     *
+     * @param owner uuid of the player
+     * @return the base64 texture, or null if absent or expired
+     */
+    public String get(final UUID owner) {
+        final String texture = peek(owner);
+        if (texture != null) {
+            stats.hit();
+        } else {
+            stats.miss();
+        }
+        return texture;
+    }
+
+    // same as get without counting, for lookups that repeat one already counted
+    String peek(final UUID owner) {
+        final Map<UUID, Entry> entries = this.entries;
+        final Entry entry = entries.get(owner);
+        if (entry == null) return null;
+        if (entry.expiresAt < System.currentTimeMillis()) {
+            entries.remove(owner, entry);
+            return null;
+        }
+        return entry.texture;
+    }
+
+    public synchronized void put(final UUID owner, final String texture) {
+        entries.put(owner, new Entry(texture, System.currentTimeMillis() + ttlMillis));
+    }
+
+    public synchronized void invalidate(final UUID owner) {
+        entries.remove(owner);
+    }
+
+    /**
+     * Load the cache file, dropping expired entries
+     *
+     * @throws IOException if the file cannot be read, nothing is published then
+     */
+    @Override
+    public Map<UUID, Entry> prepare(final Dependencies dependencies) throws IOException {
+        final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+        if (!Files.exists(file)) return entries;
+        final long now = System.currentTimeMillis();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final String[] parts = line.split(" ", 3);
+                if (parts.length != 3) continue;
+                try {
+                    final long expiresAt = Long.parseLong(parts[1]);
+                    if (expiresAt >= now) entries.put(UUID.fromString(parts[0]), new Entry(parts[2], expiresAt));
+                } catch (final IllegalArgumentException ignored) {
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Publish the loaded entries, keeping the textures resolved since the last {@link #save()}
+     */
+    @Override
+    public synchronized Map<UUID, Entry> publish(final Map<UUID, Entry> entries) {
+        final Map<UUID, Entry> previous = this.entries;
+        previous.forEach((owner, entry) -> entries.merge(owner, entry,
+                (loaded, live) -> live.expiresAt >= loaded.expiresAt ? live : loaded));
+        this.entries = entries;
+        return previous;
+    }
+
+    /**
+     * Write the cache file, replacing the previous one atomically
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public void save() throws IOException {
+        if (file.getParent() != null) Files.createDirectories(file.getParent());
+        final Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        final long now = System.currentTimeMillis();
+        try (BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            for (final Map.Entry<UUID, Entry> entry : entries.entrySet()) {
+                if (entry.getValue().expiresAt < now) continue;
+                writer.write(entry.getKey() + " " + entry.getValue().expiresAt + " " + entry.getValue().texture);
+                writer.newLine();
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * A cached texture and the time it expires at, in epoch millis.
+     */
+    public record Entry(String texture, long expiresAt) {
+    }
+}
@@ -0,0 +1,18 @@
+package me.luucka.extendlibrary.skull;
+
+import java.util.UUID;
+
+@FunctionalInterface
+public interface SkullTextureResolver {
+
+    /**
+     * Resolve the skin texture of a player. Called on a worker thread, may block.
+     *
+     * @param owner uuid of the player
+     * @param name  name of the player, may be null
+     * @return the base64 value of the "textures" profile property, or null if unknown
+     * @throws Exception if the lookup fails
+     */
+    String resolve(UUID owner, String name) throws Exception;
+
+}
@@ -0,0 +1,149 @@
+package me.luucka.extendlibrary.util;
+
+import org.bukkit.entity.*;
+
+public final class EntityTypeUtil {
+    private static final long LIVING = 1L;
+    private static final long HOSTILE = 1L << 1;
+    private static final long PASSIVE = 1L << 2;
+    private static final long BOSS = 1L << 3;
+    private static final long PROJECTILE = 1L << 4;
+    private static final long VEHICLE = 1L << 5;
+    private static final long AQUATIC = 1L << 6;
+    private static final long FLYING = 1L << 7;
+    private static final long TAMEABLE = 1L << 8;
+    private static final long UNDEAD = 1L << 9;
+    private static final long ARTHROPOD = 1L << 10;
+    private static final long RAIDER = 1L << 11;
+    private static final long HANGING = 1L << 12;
+
+    // category flags of every entity type, indexed by ordinal
+    private static final long[] FLAGS = new long[EntityType.values().length];
+
+    static {
+        markClass(LIVING, LivingEntity.class);
+        markClass(HOSTILE, Enemy.class);
+        markClass(PASSIVE, Animals.class, WaterMob.class, Ambient.class, AbstractVillager.class, Golem.class);
+        markClass(BOSS, Boss.class);
+        markClass(PROJECTILE, Projectile.class);
+        markClass(VEHICLE, Vehicle.class);
+        markClass(AQUATIC, WaterMob.class, Guardian.class);
+        markClass(FLYING, Flying.class);
+        markClass(TAMEABLE, Tameable.class);
+        markClass(RAIDER, Raider.class);
+        markClass(HANGING, Hanging.class);
+
+        mark(AQUATIC, "DROWNED", "TURTLE", "AXOLOTL", "FROG", "TADPOLE");
+        mark(FLYING, "BAT", "BEE", "PARROT", "ALLAY", "BLAZE", "VEX", "ENDER_DRAGON", "WITHER");
+        mark(UNDEAD, "ZOMBIE", "ZOMBIE_VILLAGER", "HUSK", "DROWNED", "ZOMBIFIED_PIGLIN", "ZOGLIN",
+                "SKELETON", "STRAY", "WITHER_SKELETON", "SKELETON_HORSE", "ZOMBIE_HORSE", "PHANTOM", "WITHER");
+        mark(ARTHROPOD, "SPIDER", "CAVE_SPIDER", "SILVERFISH", "ENDERMITE", "BEE");
+        // animals that are also enemies (hoglins) are hostile only
+        unmarkIf(PASSIVE, HOSTILE);
+        // shulkers are golems in the API but attack players
+        unmark(PASSIVE, "SHULKER");
+    }
+
+    private EntityTypeUtil() {
+    }
+
+    public static boolean isLiving(final EntityType type) {
+        return is(type, LIVING);
+    }
+
+    public static boolean isHostile(final EntityType type) {
+        return is(type, HOSTILE);
+    }
+
+    public static boolean isPassive(final EntityType type) {
+        return is(type, PASSIVE);
+    }
+
+    public static boolean isBoss(final EntityType type) {
+        return is(type, BOSS);
+    }
+
+    public static boolean isProjectile(final EntityType type) {
+        return is(type, PROJECTILE);
+    }
+
+    public static boolean isVehicle(final EntityType type) {
+        return is(type, VEHICLE);
+    }
+
+    public static boolean isAquatic(final EntityType type) {
+        return is(type, AQUATIC);
+    }
+
+    public static boolean isFlying(final EntityType type) {
+        return is(type, FLYING);
+    }
+
+    public static boolean isTameable(final EntityType type) {
+        return is(type, TAMEABLE);
+    }
+
+    public static boolean isUndead(final EntityType type) {
+        return is(type, UNDEAD);
+    }
+
+    public static boolean isArthropod(final EntityType type) {
+        return is(type, ARTHROPOD);
+    }
+
+    public static boolean isRaider(final EntityType type) {
+        return is(type, RAIDER);
+    }
+
+    public static boolean isHanging(final EntityType type) {
+        return is(type, HANGING);
+    }
+
+    public static boolean isHostile(final Entity entity) {
+        return is(entity.getType(), HOSTILE);
+    }
+
+    public static boolean isPassive(final Entity entity) {
+        return is(entity.getType(), PASSIVE);
+    }
+
+    public static boolean isBoss(final Entity entity) {
+        return is(entity.getType(), BOSS);
+    }
+
+    private static boolean is(final EntityType type, final long flags) {
+        return type != null && (FLAGS[type.ordinal()] & flags) != 0;
+    }
+
+    @SafeVarargs
+    private static void markClass(final long flag, final Class<? extends Entity>... classes) {
+        for (final EntityType type : EntityType.values()) {
+            final Class<? extends Entity> entityClass = type.getEntityClass();
+            if (entityClass == null) continue;
+            for (final Class<? extends Entity> category : classes) {
+                if (category.isAssignableFrom(entityClass)) {
+                    FLAGS[type.ordinal()] |= flag;
+                    break;
+                }
+            }
+        }
+    }
+
+    private static void mark(final long flag, final String... names) {
+        for (final EntityType type : EnumUtil.getAllMatching(EntityType.class, names)) {
+            FLAGS[type.ordinal()] |= flag;
+        }
+    }
+
+    private static void unmark(final long flag, final String... names) {
+        for (final EntityType type : EnumUtil.getAllMatching(EntityType.class, names)) {
+            FLAGS[type.ordinal()] &= ~flag;
+        }
+    }
+
+    private static void unmarkIf(final long flag, final long present) {
+        for (int i = 0; i < FLAGS.length; i++) {
+            if ((FLAGS[i] & present) != 0) FLAGS[i] &= ~flag;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package me.luucka.extendlibrary.util;
+
+import org.bukkit.Material;
+import org.bukkit.entity.EntityType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * EnumCompleter completes and resolves enum names typed by players, e.g. in tab completion.
+ * <p>
+ * Names and {@link EnumUtil} aliases are lowercased and kept in one sorted array, a prefix search is a
+ * binary search followed by a scan of the matches, so completing costs O(log n + results) and only
+ * allocates the result list. Aliases registered after the completer is built are not included.
+ * <pre>
+ * return EnumCompleter.materials().complete(args[0], 50);
+ * </pre>
+ *
+ * @param <T> the enum
+ */
+@SuppressWarnings("unused")
+public final class EnumCompleter<T extends Enum<T>> {
+
+    private static volatile EnumCompleter<Material> materials;
+    private static volatile EnumCompleter<EntityType> entityTypes;
+
+    private final Class<T> enumClass;
+    private final Predicate<T> filter;
+    private final String[] names;
+
+    /**
+     * Constructor
+     *
+     * @param enumClass class of the enum
+     * @param filter    selects the constants to complete, e.g. skipping legacy materials
+     */
+    public EnumCompleter(final Class<T> enumClass, final Predicate<T> filter) {
+        this.enumClass = enumClass;
+        this.filter = filter;
+        final List<String> names = new ArrayList<>();
+        for (final T constant : enumClass.getEnumConstants()) {
+            if (filter.test(constant)) names.add(constant.name().toLowerCase(Locale.ROOT));
+        }
+        for (final Map.Entry<String, T> alias : EnumUtil.getAliases(enumClass).entrySet()) {
+            if (filter.test(alias.getValue())) names.add(alias.getKey().toLowerCase(Locale.ROOT));
+        }
+        this.names = names.stream().distinct().sorted().toArray(String[]::new);
+    }
+
+    /**
+     * @return the completer of the non legacy item and block materials
+     */
+    public static EnumCompleter<Material> materials() {
+        EnumCompleter<Material> completer = materials;
+        if (completer == null) {
+            completer = new EnumCompleter<>(Material.class, material -> !material.isLegacy());
+            materials = completer;
+        }
+        return completer;
+    }
+
+    /**
+     * @return the completer of the entity types, without {@link EntityType#UNKNOWN}
+     */
+    public static EnumCompleter<EntityType> entityTypes() {
+        EnumCompleter<EntityType> completer = entityTypes;
+        if (completer == null) {
+            completer = new EnumCompleter<>(EntityType.class, type -> type != EntityType.UNKNOWN);
+            entityTypes = completer;
+        }
+        return completer;
+    }
+
+    /**
+     * Return the names starting with the given prefix, ignoring case
+     *
+     * @param prefix typed prefix
+     * @param limit  maximum number of names
+     * @return the matching names, lowercase and sorted, unmodifiable
+     */
+    public List<String> complete(final String prefix, final int limit) {
+        final String key = prefix.toLowerCase(Locale.ROOT);
+        int from = Arrays.binarySearch(names, key);
+        if (from < 0) from = -from - 1;
+        int to = from;
+        while (to < names.length && to - from < limit && names[to].startsWith(key)) to++;
+        return from == to ? Collections.emptyList() : Collections.unmodifiableList(Arrays.asList(names).subList(from, to));
+    }
+
+    /**
+     * Resolve a typed name, see {@link EnumUtil#match(Class, String)}
+     *
+     * @param name typed name
+     * @return the constant, or null if the name is unknown or filtered out
+     */
+    public T resolve(final String name) {
+        final T value = EnumUtil.match(enumClass, name);
+        return value != null && filter.test(value) ? value : null;
+    }
+
+    /**
+     * Return the names closest to a mistyped name, for "did you mean" messages
+     *
+     * @param name        typed name
+     * @param maxDistance maximum edit distance
+     * @param limit       maximum number of names
+     * @return the closest names, nearest first
+     */
+    public List<String> suggest(final String name, final int maxDistance, final int limit) {
+        final String key = EnumUtil.normalize(name).toLowerCase(Locale.ROOT);
+        final List<String> found = new ArrayList<>();
+        final List<Integer> distances = new ArrayList<>();
+        final int[] previous = new int[key.length() + 1];
+        final int[] current = new int[key.length() + 1];
+        for (final String candidate : names) {
+            if (Math.abs(candidate.length() - key.length()) > maxDistance) continue;
+            final int distance = distance(key, candidate, maxDistance, previous, current);
+            if (distance > maxDistance) continue;
+            int i = distances.size();
+            while (i > 0 && distances.get(i - 1) > distance) i--;
+            if (i >= limit) continue;
+            distances.add(i, distance);
+            found.add(i, candidate);
+            if (found.size() > limit) {
+                distances.remove(limit);
+                found.remove(limit);
+            }
+        }
+        return found;
+    }
+
+    // Levenshtein distance, stops early once every cell of a row exceeds the bound
+    private static int distance(final String a, final String b, final int bound, int[] previous, int[] current) {
+        for (int i = 0; i <= a.length(); i++) previous[i] = i;
+        for (int j = 1; j <= b.length(); j++) {
+            current[0] = j;
+            int rowMin = j;
+            for (int i = 1; i <= a.length(); i++) {
+                final int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[i] = Math.min(Math.min(current[i - 1] + 1, previous[i] + 1), previous[i - 1] + cost);
+                rowMin = Math.min(rowMin, current[i]);
+            }
+            if (rowMin > bound) return bound + 1;
+            final int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[a.length()];
+    }
+}
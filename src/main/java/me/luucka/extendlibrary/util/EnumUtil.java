@@ -3,18 +3,33 @@ package me.luucka.extendlibrary.util;
 import org.bukkit.Material;
 import org.bukkit.entity.EntityType;
 
-import java.lang.reflect.Field;
+import java.util.Collections;
 import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class EnumUtil {
 
+    // per enum class index, built once on first use
+    private static final ClassValue<Index<?>> INDEXES = new ClassValue<>() {
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        protected Index<?> computeValue(final Class<?> type) {
+            final Index index = new Index(type);
+            if (type == EntityType.class) entityTypeAliases(index);
+            return index;
+        }
+    };
+
     private EnumUtil() {
     }
 
     /**
      * Returns the field matching the first provided enum name that exists within the given
-     * enum class. If no field is found, this method returns null.
+     * enum class, or is a registered alias of it. If no field is found, this method returns null.
      *
      * @param enumClass The class to search through
      * @param names     The names of the fields to search for
@@ -22,14 +37,11 @@ public final class EnumUtil {
      * @return The first matching enum field
      */
     public static <T extends Enum<T>> T valueOf(final Class<T> enumClass, final String... names) {
+        final Index<T> index = index(enumClass);
         for (final String name : names) {
-            try {
-                final Field enumField = enumClass.getDeclaredField(name);
-
-                if (enumField.isEnumConstant()) {
-                    return (T) enumField.get(null);
-                }
-            } catch (final NoSuchFieldException | IllegalAccessException ignored) {
+            final T value = index.exact(name);
+            if (value != null) {
+                return value;
             }
         }
 
@@ -38,7 +50,7 @@ public final class EnumUtil {
 
     /**
      * Return a set containing <b>all</b> fields of the given enum that match one of the provided
-     * names.
+     * names or registered aliases.
      *
      * @param enumClass The class to search through
      * @param names     The names of the fields to search for
@@ -47,21 +59,68 @@ public final class EnumUtil {
      */
     public static <T extends Enum<T>> Set<T> getAllMatching(final Class<T> enumClass, final String... names) {
         final Set<T> set = EnumSet.noneOf(enumClass);
+        final Index<T> index = index(enumClass);
 
         for (final String name : names) {
-            try {
-                final Field enumField = enumClass.getDeclaredField(name);
-
-                if (enumField.isEnumConstant()) {
-                    set.add((T) enumField.get(null));
-                }
-            } catch (final NoSuchFieldException | IllegalAccessException ignored) {
+            final T value = index.exact(name);
+            if (value != null) {
+                set.add(value);
             }
         }
 
         return set;
     }
 
+    /**
+     * Returns the enum field matching a user supplied name. The match ignores case, a leading
+     * {@code minecraft:} namespace, and treats spaces and dashes as underscores, so
+     * {@code "Diamond Sword"}, {@code "diamond-sword"} and {@code "minecraft:diamond_sword"} all match.
+     * Registered aliases are matched the same way.
+     *
+     * @param enumClass The class to search through
+     * @param name      The user supplied name
+     * @param <T>       The enum to search through
+     * @return The matching enum field, or null
+     */
+    public static <T extends Enum<T>> T match(final Class<T> enumClass, final String name) {
+        return index(enumClass).normalized(name);
+    }
+
+    /**
+     * Register an alias of an enum field, e.g. a legacy name. Aliases never replace real field names.
+     *
+     * @param enumClass The class of the field
+     * @param alias     The alias
+     * @param value     The field the alias resolves to
+     * @param <T>       The enum of the field
+     */
+    public static <T extends Enum<T>> void addAlias(final Class<T> enumClass, final String alias, final T value) {
+        index(enumClass).addAlias(alias, value);
+    }
+
+    /**
+     * Return every registered alias of the given enum
+     *
+     * @param enumClass The class to search through
+     * @param <T>       The enum to search through
+     * @return An unmodifiable view of the aliases and the fields they resolve to
+     */
+    public static <T extends Enum<T>> Map<String, T> getAliases(final Class<T> enumClass) {
+        return Collections.unmodifiableMap(index(enumClass).aliases);
+    }
+
+    /**
+     * Normalize a user supplied name the way {@link #match(Class, String)} does
+     *
+     * @param name The name
+     * @return The normalized name
+     */
+    public static String normalize(final String name) {
+        final String trimmed = name.trim();
+        final String path = trimmed.regionMatches(true, 0, "minecraft:", 0, 10) ? trimmed.substring(10) : trimmed;
+        return path.toUpperCase(Locale.ROOT).replace(' ', '_').replace('-', '_');
+    }
+
     /**
      * Gets the first Material field found from the given names.
      *
@@ -75,4 +134,84 @@ public final class EnumUtil {
     public static EntityType getEntityType(final String... names) {
         return valueOf(EntityType.class, names);
     }
+
+    // legacy and current names of renamed types, registered with the index so every lookup sees them
+    private static void entityTypeAliases(final Index<EntityType> index) {
+        index.alias("PIG_ZOMBIE", "ZOMBIFIED_PIGLIN");
+        index.alias("MUSHROOM_COW", "MOOSHROOM");
+        index.alias("SNOWMAN", "SNOW_GOLEM");
+        index.alias("ENDER_CRYSTAL", "END_CRYSTAL");
+        index.alias("FIREWORK", "FIREWORK_ROCKET");
+        index.alias("DROPPED_ITEM", "ITEM");
+        index.alias("LEASH_HITCH", "LEASH_KNOT");
+        index.alias("LIGHTNING", "LIGHTNING_BOLT");
+        index.alias("PRIMED_TNT", "TNT");
+        index.alias("MINECART_CHEST", "CHEST_MINECART");
+        index.alias("MINECART_FURNACE", "FURNACE_MINECART");
+        index.alias("MINECART_HOPPER", "HOPPER_MINECART");
+        index.alias("MINECART_TNT", "TNT_MINECART");
+        index.alias("MINECART_MOB_SPAWNER", "SPAWNER_MINECART");
+        index.alias("MINECART_COMMAND", "COMMAND_BLOCK_MINECART");
+        index.alias("SPLASH_POTION", "POTION");
+        index.alias("THROWN_EXP_BOTTLE", "EXPERIENCE_BOTTLE");
+        index.alias("ENDER_SIGNAL", "EYE_OF_ENDER");
+        index.alias("FISHING_HOOK", "FISHING_BOBBER");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Enum<T>> Index<T> index(final Class<T> enumClass) {
+        return (Index<T>) INDEXES.get(enumClass);
+    }
+
+    private static final class Index<T extends Enum<T>> {
+        private final Map<String, T> exact;
+        private final Map<String, T> normalized;
+        private final Map<String, T> aliases = new ConcurrentHashMap<>();
+        private final Map<String, T> normalizedAliases = new ConcurrentHashMap<>();
+
+        private Index(final Class<T> enumClass) {
+            final T[] constants = enumClass.getEnumConstants();
+            if (constants == null) {
+                throw new IllegalArgumentException(enumClass.getName() + " is not an enum");
+            }
+            final Map<String, T> exact = new HashMap<>();
+            final Map<String, T> normalized = new HashMap<>();
+            for (final T constant : constants) {
+                exact.put(constant.name(), constant);
+                normalized.putIfAbsent(normalize(constant.name()), constant);
+            }
+            this.exact = Map.copyOf(exact);
+            this.normalized = Map.copyOf(normalized);
+        }
+
+        private T exact(final String name) {
+            final T value = exact.get(name);
+            return value != null ? value : aliases.get(name);
+        }
+
+        private T normalized(final String name) {
+            final String key = normalize(name);
+            final T value = normalized.get(key);
+            return value != null ? value : normalizedAliases.get(key);
+        }
+
+        // aliases every name to the first one that exists
+        private void alias(final String... names) {
+            T value = null;
+            for (final String name : names) {
+                value = exact.get(name);
+                if (value != null) break;
+            }
+            if (value == null) return;
+            for (final String name : names) {
+                addAlias(name, value);
+            }
+        }
+
+        private void addAlias(final String alias, final T value) {
+            if (exact.containsKey(alias)) return;
+            aliases.put(alias, value);
+            normalizedAliases.put(normalize(alias), value);
+        }
+    }
 }
@@ -0,0 +1,91 @@
+package me.luucka.extendlibrary.util;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * A reloadable component split in two phases, so a {@link ReloadOrchestrator} can load it off the
+ * main thread and publish it together with the other components.
+ * <p>
+ * A prepare runs before any state of the same reload is published, so it must read the states of its
+ * dependencies from the given {@link Dependencies}, never from their published state.
+ *
+ * @param <S> the loaded state
+ */
+public interface IStagedReload<S> extends IReload {
+
+    /**
+     * Load a new state without changing the published one. Runs on a worker thread.
+     *
+     * @param dependencies prepared states of the declared dependencies
+     * @return the loaded state
+     * @throws Exception if loading fails, nothing is published then
+     */
+    S prepare(Dependencies dependencies) throws Exception;
+
+    /**
+     * Make a state the published one. Runs on the main thread and must not fail for a prepared state.
+     *
+     * @param state state to publish
+     * @return the state that was published before, used to roll back
+     */
+    S publish(S state);
+
+    @Override
+    default void reload() {
+        try {
+            publish(prepare(Dependencies.NONE));
+        } catch (final RuntimeException e) {
+            throw e;
+        } catch (final Exception e) {
+            throw new IllegalStateException("Reload failed", e);
+        }
+    }
+
+    /**
+     * Prepared states of the dependencies of a component, not published yet.
+     */
+    final class Dependencies {
+
+        public static final Dependencies NONE = new Dependencies(Map.of(), Map.of());
+
+        private final Map<String, Object> byName;
+        private final Map<IStagedReload<?>, Object> byComponent;
+
+        Dependencies(final Map<String, Object> byName, final Map<IStagedReload<?>, Object> byComponent) {
+            this.byName = byName;
+            this.byComponent = byComponent;
+        }
+
+        static Dependencies of(final Map<String, IStagedReload<?>> components, final Map<String, Object> states) {
+            final Map<IStagedReload<?>, Object> byComponent = new IdentityHashMap<>();
+            components.forEach((name, component) -> byComponent.put(component, states.get(name)));
+            return new Dependencies(Collections.unmodifiableMap(new HashMap<>(states)), byComponent);
+        }
+
+        /**
+         * Return the prepared state of a dependency
+         *
+         * @param name name the dependency is registered with
+         * @return the prepared state, or null if it is not a dependency
+         */
+        public Object get(final String name) {
+            return byName.get(name);
+        }
+
+        /**
+         * Return the prepared state of a dependency
+         *
+         * @param component the dependency
+         * @param <T>       type of its state
+         * @return the prepared state, or null if it is not a dependency, fall back to its published state then
+         */
+        @SuppressWarnings("unchecked")
+        public <T> T get(final IStagedReload<T> component) {
+            return (T) byComponent.get(component);
+        }
+    }
+
+}
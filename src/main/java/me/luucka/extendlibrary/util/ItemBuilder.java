@@ -1,6 +1,11 @@
 package me.luucka.extendlibrary.util;
 
 import com.destroystokyo.paper.profile.PlayerProfile;
+import me.luucka.extendlibrary.item.data.DataKey;
+import me.luucka.extendlibrary.item.data.DataKeys;
+import me.luucka.extendlibrary.metrics.Metrics;
+import me.luucka.extendlibrary.util.ItemMetaTable.Capability;
+import me.luucka.extendlibrary.util.adapter.Adapters;
 import net.kyori.adventure.text.Component;
 import org.bukkit.*;
 import org.bukkit.block.banner.Pattern;
@@ -12,9 +17,8 @@ import org.bukkit.inventory.ItemFlag;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.*;
 import org.bukkit.map.MapView;
-import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.potion.PotionData;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
 import org.bukkit.potion.PotionType;
@@ -22,6 +26,7 @@ import org.bukkit.potion.PotionType;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * ItemBuilder class help you to create {@link ItemStack} easily
@@ -29,9 +34,13 @@ import java.util.Map;
 @SuppressWarnings("unused")
 public final class ItemBuilder {
 
+    private static final LongAdder BUILDS = Metrics.counter("itembuilder.build");
+
     private final Material material;
     private final ItemMeta meta;
+    private final long capabilities;
     private final int amount;
+    private boolean strict = false;
 
     /**
      * Constructor
@@ -50,21 +59,48 @@ public final class ItemBuilder {
      */
     public ItemBuilder(final Material material, final int amount) {
         this.material = material;
-        this.meta = Bukkit.getItemFactory().getItemMeta(material);
+        this.meta = ItemMetaTable.newMeta(material);
+        this.capabilities = ItemMetaTable.capabilitiesOf(material, meta);
         this.amount = amount <= 0 ? 1 : amount;
     }
 
+    /**
+     * Enable strict mode: every setter that does not apply to the 'material'
+     * throws an {@link UnsupportedOperationException} instead of being silently ignored.
+     */
+    public ItemBuilder strict() {
+        this.strict = true;
+        return this;
+    }
+
     /**
      * Return a new {@link ItemStack} based on 'material' and 'amount'
      *
      * @return an {@link ItemStack}
      */
     public ItemStack build() {
+        if (Metrics.isEnabled()) BUILDS.increment();
         ItemStack item = new ItemStack(this.material, this.amount);
         item.setItemMeta(this.meta);
         return item;
     }
 
+    /**
+     * Check if the meta of 'material' implements the given {@link Capability}
+     *
+     * @param capability {@link Capability} required by the setter
+     * @return true if the setter can be applied
+     * @throws UnsupportedOperationException in strict mode, if the capability is missing
+     */
+    private boolean supports(final Capability capability) {
+        if ((capabilities & capability.mask()) != 0) return true;
+        if (strict) {
+            throw new UnsupportedOperationException(material + " does not support " + capability.getMetaName()
+                    + (capability.isAvailable() ? "" : ", the server does not have it"));
+        }
+        return false;
+    }
+
     /*
         Generic Item section
         ----------------------------------------------------------------------------------------------------------------
@@ -102,7 +138,9 @@ public final class ItemBuilder {
     }
 
     public ItemBuilder setDamage(final int damage) {
-        ((Damageable) meta).setDamage(damage);
+        if (supports(Capability.DAMAGEABLE)) {
+            ((Damageable) meta).setDamage(damage);
+        }
         return this;
     }
 
@@ -189,8 +227,30 @@ public final class ItemBuilder {
      * @param value  value
      */
     public ItemBuilder setPersistentDataContainerValue(final JavaPlugin plugin, final String key, final String value) {
-        NamespacedKey namespacedKey = new NamespacedKey(plugin, key);
-        meta.getPersistentDataContainer().set(namespacedKey, PersistentDataType.STRING, value);
+        return setPersistentData(DataKeys.of(plugin).string(key), value);
+    }
+
+    /**
+     * Set a typed persistent data container value into this item
+     *
+     * @param key   a cached {@link DataKey}, see {@link DataKeys}
+     * @param value value
+     */
+    public <C> ItemBuilder setPersistentData(final DataKey<?, C> key, final C value) {
+        key.set(meta.getPersistentDataContainer(), value);
+        return this;
+    }
+
+    /**
+     * Set several typed persistent data container values into this item
+     *
+     * @param values values created with {@link DataKey#with(Object)}
+     */
+    public ItemBuilder setPersistentData(final DataKey.Value<?>... values) {
+        final PersistentDataContainer container = meta.getPersistentDataContainer();
+        for (final DataKey.Value<?> value : values) {
+            value.applyTo(container);
+        }
         return this;
     }
 
@@ -282,7 +342,7 @@ public final class ItemBuilder {
      * This Method does silently ignore double set itemFlags.
      */
     public ItemBuilder hideArmorTrim() {
-        meta.addItemFlags(ItemFlag.HIDE_ARMOR_TRIM);
+        Adapters.ARMOR_TRIM.hideArmorTrim(meta);
         return this;
     }
 
@@ -302,7 +362,22 @@ public final class ItemBuilder {
      * @param cost repair penalty
      */
     public ItemBuilder setRepairCost(final int cost) {
-        ((Repairable) meta).setRepairCost(cost);
+        if (supports(Capability.REPAIRABLE)) {
+            ((Repairable) meta).setRepairCost(cost);
+        }
+        return this;
+    }
+
+    /**
+     * Sets the custom model data.
+     * <p>
+     * CustomModelData is an integer that may be associated client side with a
+     * custom item model.
+     *
+     * @param data the data to set, or null to clear
+     */
+    public ItemBuilder setCustomModelData(final Integer data) {
+        meta.setCustomModelData(data);
         return this;
     }
 
@@ -317,8 +392,8 @@ public final class ItemBuilder {
      * @param variant axolotl variant
      */
     public ItemBuilder setAxolotlVariant(final Axolotl.Variant variant) {
-        if (meta instanceof AxolotlBucketMeta axolotlBucketMeta) {
-            axolotlBucketMeta.setVariant(variant);
+        if (supports(Capability.AXOLOTL_BUCKET)) {
+            ((AxolotlBucketMeta) meta).setVariant(variant);
         }
         return this;
     }
@@ -334,8 +409,8 @@ public final class ItemBuilder {
      * @param patterns the new list of patterns
      */
     public ItemBuilder setBannerPatterns(final List<Pattern> patterns) {
-        if (meta instanceof BannerMeta bannerMeta) {
-            bannerMeta.setPatterns(patterns);
+        if (supports(Capability.BANNER)) {
+            ((BannerMeta) meta).setPatterns(patterns);
         }
         return this;
     }
@@ -347,8 +422,8 @@ public final class ItemBuilder {
      * @param pattern the new pattern to add
      */
     public ItemBuilder addBannerPattern(final Pattern pattern) {
-        if (meta instanceof BannerMeta bannerMeta) {
-            bannerMeta.addPattern(pattern);
+        if (supports(Capability.BANNER)) {
+            ((BannerMeta) meta).addPattern(pattern);
         }
         return this;
     }
@@ -361,8 +436,8 @@ public final class ItemBuilder {
      * @throws IndexOutOfBoundsException when index is not in [0, numberOfPatterns()) range
      */
     public ItemBuilder setBannerPattern(final int i, final Pattern pattern) {
-        if (meta instanceof BannerMeta bannerMeta) {
-            bannerMeta.setPattern(i, pattern);
+        if (supports(Capability.BANNER)) {
+            ((BannerMeta) meta).setPattern(i, pattern);
         }
         return this;
     }
@@ -380,8 +455,8 @@ public final class ItemBuilder {
      * @param title the title to set
      */
     public ItemBuilder setBookTitle(final Component title) {
-        if (meta instanceof BookMeta bookMeta) {
-            bookMeta.title(title);
+        if (supports(Capability.BOOK)) {
+            ((BookMeta) meta).title(title);
         }
         return this;
     }
@@ -392,8 +467,8 @@ public final class ItemBuilder {
      * @param author the author to set
      */
     public ItemBuilder setBookAuthor(final Component author) {
-        if (meta instanceof BookMeta bookMeta) {
-            bookMeta.author(author);
+        if (supports(Capability.BOOK)) {
+            ((BookMeta) meta).author(author);
         }
         return this;
     }
@@ -411,8 +486,8 @@ public final class ItemBuilder {
      * @param data the data to set for that page
      */
     public ItemBuilder setBookPage(final int page, final Component data) {
-        if (meta instanceof BookMeta bookMeta) {
-            bookMeta.page(page, data);
+        if (supports(Capability.BOOK)) {
+            ((BookMeta) meta).page(page, data);
         }
         return this;
     }
@@ -424,8 +499,8 @@ public final class ItemBuilder {
      * @param pages A list of pages to set the book to use
      */
     public ItemBuilder setBookPages(final List<Component> pages) {
-        if (meta instanceof BookMeta bookMeta) {
-            bookMeta.pages(pages);
+        if (supports(Capability.BOOK)) {
+            ((BookMeta) meta).pages(pages);
         }
         return this;
     }
@@ -447,8 +522,8 @@ public final class ItemBuilder {
      * @param pages A list of strings, each being a page
      */
     public ItemBuilder addBookPage(final Component... pages) {
-        if (meta instanceof BookMeta bookMeta) {
-            bookMeta.addPages(pages);
+        if (supports(Capability.BOOK)) {
+            ((BookMeta) meta).addPages(pages);
         }
         return this;
     }
@@ -459,8 +534,8 @@ public final class ItemBuilder {
      * @param generation the generation to set
      */
     public ItemBuilder setBookGeneration(final BookMeta.Generation generation) {
-        if (meta instanceof BookMeta bookMeta) {
-            bookMeta.setGeneration(generation);
+        if (supports(Capability.BOOK)) {
+            ((BookMeta) meta).setGeneration(generation);
         }
         return this;
     }
@@ -478,8 +553,8 @@ public final class ItemBuilder {
      * @param items the items to set
      */
     public ItemBuilder setBundleItems(final List<ItemStack> items) {
-        if (meta instanceof BundleMeta bundleMeta) {
-            bundleMeta.setItems(items);
+        if (supports(Capability.BUNDLE)) {
+            ((BundleMeta) meta).setItems(items);
         }
         return this;
     }
@@ -501,8 +576,8 @@ public final class ItemBuilder {
      * @param item item to add
      */
     public ItemBuilder addBundleItem(final ItemStack item) {
-        if (meta instanceof BundleMeta bundleMeta) {
-            bundleMeta.addItem(item);
+        if (supports(Capability.BUNDLE)) {
+            ((BundleMeta) meta).addItem(item);
         }
         return this;
     }
@@ -518,8 +593,8 @@ public final class ItemBuilder {
      * @param lodestone new location or null to clear
      */
     public ItemBuilder setCompassLodestone(final Location lodestone) {
-        if (meta instanceof CompassMeta compassMeta) {
-            compassMeta.setLodestone(lodestone);
+        if (supports(Capability.COMPASS)) {
+            ((CompassMeta) meta).setLodestone(lodestone);
         }
         return this;
     }
@@ -533,8 +608,8 @@ public final class ItemBuilder {
      * @param tracked new tracked status
      */
     public ItemBuilder setCompassLodestoneTracked(final boolean tracked) {
-        if (meta instanceof CompassMeta compassMeta) {
-            compassMeta.setLodestoneTracked(tracked);
+        if (supports(Capability.COMPASS)) {
+            ((CompassMeta) meta).setLodestoneTracked(tracked);
         }
         return this;
     }
@@ -554,8 +629,8 @@ public final class ItemBuilder {
      *                                  arrow or firework rocket
      */
     public ItemBuilder setCrossbowChargedProjectiles(final List<ItemStack> projectiles) {
-        if (meta instanceof CrossbowMeta crossbowMeta) {
-            crossbowMeta.setChargedProjectiles(projectiles);
+        if (supports(Capability.CROSSBOW)) {
+            ((CrossbowMeta) meta).setChargedProjectiles(projectiles);
         }
         return this;
     }
@@ -581,8 +656,8 @@ public final class ItemBuilder {
      *                                  firework rocket
      */
     public ItemBuilder addCrossbowChargedProjectile(final ItemStack projectile) {
-        if (meta instanceof CrossbowMeta crossbowMeta) {
-            crossbowMeta.addChargedProjectile(projectile);
+        if (supports(Capability.CROSSBOW)) {
+            ((CrossbowMeta) meta).addChargedProjectile(projectile);
         }
         return this;
     }
@@ -626,8 +701,8 @@ public final class ItemBuilder {
      * @throws IllegalArgumentException if enchantment is null
      */
     private void _addEnchantedBookStoredEnchant(final Enchantment enchantment, final int level, final boolean ignoreLevelRestriction) {
-        if (meta instanceof EnchantmentStorageMeta enchantmentStorageMeta) {
-            enchantmentStorageMeta.addStoredEnchant(enchantment, level, ignoreLevelRestriction);
+        if (supports(Capability.ENCHANTMENT_STORAGE)) {
+            ((EnchantmentStorageMeta) meta).addStoredEnchant(enchantment, level, ignoreLevelRestriction);
         }
     }
 
@@ -642,8 +717,8 @@ public final class ItemBuilder {
      * @param effect the effect to set, or null to indicate none.
      */
     public ItemBuilder setFireworkChargeEffect(final FireworkEffect effect) {
-        if (meta instanceof FireworkEffectMeta fireworkEffectMeta) {
-            fireworkEffectMeta.setEffect(effect);
+        if (supports(Capability.FIREWORK_EFFECT)) {
+            ((FireworkEffectMeta) meta).setEffect(effect);
         }
         return this;
     }
@@ -660,8 +735,8 @@ public final class ItemBuilder {
      * @throws IllegalArgumentException If effect is null
      */
     public ItemBuilder addFireworkEffect(final FireworkEffect effect) {
-        if (meta instanceof FireworkMeta fireworkMeta) {
-            fireworkMeta.addEffect(effect);
+        if (supports(Capability.FIREWORK)) {
+            ((FireworkMeta) meta).addEffect(effect);
         }
         return this;
     }
@@ -675,8 +750,8 @@ public final class ItemBuilder {
      *                                  after changes have occurred)
      */
     public ItemBuilder addFireworkEffects(final FireworkEffect... effects) {
-        if (meta instanceof FireworkMeta fireworkMeta) {
-            fireworkMeta.addEffects(effects);
+        if (supports(Capability.FIREWORK)) {
+            ((FireworkMeta) meta).addEffects(effects);
         }
         return this;
     }
@@ -689,8 +764,8 @@ public final class ItemBuilder {
      * @throws IllegalArgumentException if {@literal height<0 or height>127}
      */
     public ItemBuilder setFireworkPower(final int power) {
-        if (meta instanceof FireworkMeta fireworkMeta) {
-            fireworkMeta.setPower(power);
+        if (supports(Capability.FIREWORK)) {
+            ((FireworkMeta) meta).setPower(power);
         }
         return this;
     }
@@ -707,8 +782,8 @@ public final class ItemBuilder {
      * @param recipes A list of recipes to set the book to use
      */
     public ItemBuilder setKnowledgeBookRecipes(final List<NamespacedKey> recipes) {
-        if (meta instanceof KnowledgeBookMeta knowledgeBookMeta) {
-            knowledgeBookMeta.setRecipes(recipes);
+        if (supports(Capability.KNOWLEDGE_BOOK)) {
+            ((KnowledgeBookMeta) meta).setRecipes(recipes);
         }
         return this;
     }
@@ -719,8 +794,8 @@ public final class ItemBuilder {
      * @param recipes A list of recipe keys
      */
     public ItemBuilder addKnowledgeBookRecipe(final NamespacedKey... recipes) {
-        if (meta instanceof KnowledgeBookMeta knowledgeBookMeta) {
-            knowledgeBookMeta.addRecipe(recipes);
+        if (supports(Capability.KNOWLEDGE_BOOK)) {
+            ((KnowledgeBookMeta) meta).addRecipe(recipes);
         }
         return this;
     }
@@ -737,8 +812,8 @@ public final class ItemBuilder {
      *              setting it to {@link ItemFactory#getDefaultLeatherColor()}.
      */
     public ItemBuilder setLeatherArmorColor(Color color) {
-        if (meta instanceof LeatherArmorMeta leatherArmorMeta) {
-            leatherArmorMeta.setColor(color);
+        if (supports(Capability.LEATHER_ARMOR)) {
+            ((LeatherArmorMeta) meta).setColor(color);
         }
         return this;
     }
@@ -770,8 +845,8 @@ public final class ItemBuilder {
      * @param map the map to set
      */
     public ItemBuilder setMapView(final MapView map) {
-        if (meta instanceof MapMeta mapMeta) {
-            mapMeta.setMapView(map);
+        if (supports(Capability.MAP)) {
+            ((MapMeta) meta).setMapView(map);
         }
         return this;
     }
@@ -782,8 +857,8 @@ public final class ItemBuilder {
      * @param value true to scale
      */
     public ItemBuilder setMapScaling(final boolean value) {
-        if (meta instanceof MapMeta mapMeta) {
-            mapMeta.setScaling(value);
+        if (supports(Capability.MAP)) {
+            ((MapMeta) meta).setScaling(value);
         }
         return this;
     }
@@ -795,8 +870,8 @@ public final class ItemBuilder {
      * @param color the color to set
      */
     public ItemBuilder setMapColor(final Color color) {
-        if (meta instanceof MapMeta mapMeta) {
-            mapMeta.setColor(color);
+        if (supports(Capability.MAP)) {
+            ((MapMeta) meta).setColor(color);
         }
         return this;
     }
@@ -824,8 +899,8 @@ public final class ItemBuilder {
      * @param instrument the instrument to set
      */
     public ItemBuilder setMusicInstrument(final MusicInstrument instrument) {
-        if (meta instanceof MusicInstrumentMeta musicInstrumentMeta) {
-            musicInstrumentMeta.setInstrument(instrument);
+        if (supports(Capability.MUSIC_INSTRUMENT)) {
+            Adapters.INSTRUMENT.setInstrument(meta, instrument);
         }
         return this;
     }
@@ -845,8 +920,8 @@ public final class ItemBuilder {
      *                   must be true
      */
     public ItemBuilder setBasePotionData(final PotionType potionType, final boolean extended, final boolean upgraded) {
-        if (meta instanceof PotionMeta potionMeta && (!extended || !upgraded)) {
-            potionMeta.setBasePotionData(new PotionData(potionType, potionType.isExtendable() && extended, potionType.isUpgradeable() && upgraded));
+        if (supports(Capability.POTION) && (!extended || !upgraded)) {
+            Adapters.POTION.setBasePotion((PotionMeta) meta, potionType, extended, upgraded);
         }
         return this;
     }
@@ -859,8 +934,8 @@ public final class ItemBuilder {
      *                  overwritten
      */
     public ItemBuilder addPotionCustomEffect(final PotionEffect effect, boolean overwrite) {
-        if (meta instanceof PotionMeta potionMeta) {
-            potionMeta.addCustomEffect(effect, overwrite);
+        if (supports(Capability.POTION)) {
+            ((PotionMeta) meta).addCustomEffect(effect, overwrite);
         }
         return this;
     }
@@ -887,8 +962,8 @@ public final class ItemBuilder {
      * @param color the color to set
      */
     public ItemBuilder setPotionColor(final Color color) {
-        if (meta instanceof PotionMeta potionMeta) {
-            potionMeta.setColor(color);
+        if (supports(Capability.POTION)) {
+            ((PotionMeta) meta).setColor(color);
         }
         return this;
     }
@@ -916,8 +991,8 @@ public final class ItemBuilder {
      * @param profile The profile to set this Skull to use, or null to clear owner
      */
     public ItemBuilder setSkullPlayerProfile(final PlayerProfile profile) {
-        if (meta instanceof SkullMeta skullMeta) {
-            skullMeta.setPlayerProfile(profile);
+        if (supports(Capability.SKULL)) {
+            ((SkullMeta) meta).setPlayerProfile(profile);
         }
         return this;
     }
@@ -931,8 +1006,8 @@ public final class ItemBuilder {
      * @param owner the new owner of the skull
      */
     public ItemBuilder setSkullOwningPlayer(final OfflinePlayer owner) {
-        if (meta instanceof SkullMeta skullMeta) {
-            skullMeta.setOwningPlayer(owner);
+        if (supports(Capability.SKULL)) {
+            ((SkullMeta) meta).setOwningPlayer(owner);
         }
         return this;
     }
@@ -950,8 +1025,8 @@ public final class ItemBuilder {
      *                  overwritten
      */
     public ItemBuilder addSuspiciousStewCustomEffect(final PotionEffect effect, boolean overwrite) {
-        if (meta instanceof SuspiciousStewMeta suspiciousStewMeta) {
-            suspiciousStewMeta.addCustomEffect(effect, overwrite);
+        if (supports(Capability.SUSPICIOUS_STEW)) {
+            ((SuspiciousStewMeta) meta).addCustomEffect(effect, overwrite);
         }
         return this;
     }
@@ -985,8 +1060,8 @@ public final class ItemBuilder {
      * @param color pattern color
      */
     public ItemBuilder setTropicalFishBucketPatternColor(final DyeColor color) {
-        if (meta instanceof TropicalFishBucketMeta tropicalFishBucketMeta) {
-            tropicalFishBucketMeta.setPatternColor(color);
+        if (supports(Capability.TROPICAL_FISH_BUCKET)) {
+            ((TropicalFishBucketMeta) meta).setPatternColor(color);
         }
         return this;
     }
@@ -1000,8 +1075,8 @@ public final class ItemBuilder {
      * @param color body color
      */
     public ItemBuilder setTropicalFishBucketBodyColor(final DyeColor color) {
-        if (meta instanceof TropicalFishBucketMeta tropicalFishBucketMeta) {
-            tropicalFishBucketMeta.setBodyColor(color);
+        if (supports(Capability.TROPICAL_FISH_BUCKET)) {
+            ((TropicalFishBucketMeta) meta).setBodyColor(color);
         }
         return this;
     }
@@ -1015,8 +1090,8 @@ public final class ItemBuilder {
      * @param pattern new pattern
      */
     public ItemBuilder setTropicalFishBucketPattern(final TropicalFish.Pattern pattern) {
-        if (meta instanceof TropicalFishBucketMeta tropicalFishBucketMeta) {
-            tropicalFishBucketMeta.setPattern(pattern);
+        if (supports(Capability.TROPICAL_FISH_BUCKET)) {
+            ((TropicalFishBucketMeta) meta).setPattern(pattern);
         }
         return this;
     }
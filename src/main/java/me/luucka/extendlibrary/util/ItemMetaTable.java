@@ -0,0 +1,163 @@
+package me.luucka.extendlibrary.util;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemFactory;
+import org.bukkit.inventory.meta.ItemMeta;
+
+/**
+ * ItemMetaTable holds, for every {@link Material}, a prototype {@link ItemMeta} and the set of
+ * meta interfaces it implements.
+ * <p>
+ * The table is built once, indexed by {@link Material#ordinal()}, so {@link ItemBuilder} can clone
+ * the prototype instead of asking the {@link ItemFactory} and can test a capability with a single bit check.
+ */
+public final class ItemMetaTable {
+
+    private static final Material[] MATERIALS = Material.values();
+    private static final ItemMeta[] PROTOTYPES = new ItemMeta[MATERIALS.length];
+    private static final long[] CAPABILITIES = new long[MATERIALS.length];
+
+    static {
+        final ItemFactory factory = Bukkit.getItemFactory();
+        for (final Material material : MATERIALS) {
+            if (material.isLegacy() || !material.isItem()) continue;
+            final ItemMeta meta = factory.getItemMeta(material);
+            if (meta == null) continue;
+            PROTOTYPES[material.ordinal()] = meta;
+            CAPABILITIES[material.ordinal()] = Capability.maskOf(meta);
+        }
+    }
+
+    private ItemMetaTable() {
+    }
+
+    /**
+     * Return a fresh copy of the prototype {@link ItemMeta} of the given {@link Material}
+     *
+     * @param material {@link Material} to get the meta for
+     * @return a new {@link ItemMeta}, or null if the material has no meta
+     */
+    public static ItemMeta newMeta(final Material material) {
+        final ItemMeta prototype = PROTOTYPES[material.ordinal()];
+        if (prototype == null) {
+            // legacy and non-item materials are not tabled, fall back to the factory
+            return Bukkit.getItemFactory().getItemMeta(material);
+        }
+        return prototype.clone();
+    }
+
+    /**
+     * Return the capability bitmask of the given {@link Material}
+     *
+     * @param material {@link Material} to look up
+     * @return bitmask of {@link Capability#mask()} values
+     */
+    public static long capabilities(final Material material) {
+        return CAPABILITIES[material.ordinal()];
+    }
+
+    /**
+     * Return the capability bitmask of a meta created for the given {@link Material}.
+     * Materials missing from the table are inspected directly.
+     *
+     * @param material {@link Material} the meta was created for
+     * @param meta     {@link ItemMeta} returned by {@link #newMeta(Material)}
+     * @return bitmask of {@link Capability#mask()} values
+     */
+    static long capabilitiesOf(final Material material, final ItemMeta meta) {
+        if (PROTOTYPES[material.ordinal()] != null) return CAPABILITIES[material.ordinal()];
+        return meta == null ? 0L : Capability.maskOf(meta);
+    }
+
+    /**
+     * Check if the meta of the given {@link Material} implements the given {@link Capability}
+     *
+     * @param material   {@link Material} to look up
+     * @param capability {@link Capability} to check
+     * @return true if the material supports the capability
+     */
+    public static boolean supports(final Material material, final Capability capability) {
+        return (CAPABILITIES[material.ordinal()] & capability.mask()) != 0;
+    }
+
+    /**
+     * Meta interfaces an {@link ItemMeta} can implement.
+     * <p>
+     * Interfaces are resolved by name, so a capability missing from the running server is simply never set.
+     */
+    public enum Capability {
+        DAMAGEABLE("Damageable"),
+        REPAIRABLE("Repairable"),
+        AXOLOTL_BUCKET("AxolotlBucketMeta"),
+        BANNER("BannerMeta"),
+        BOOK("BookMeta"),
+        BUNDLE("BundleMeta"),
+        COMPASS("CompassMeta"),
+        CROSSBOW("CrossbowMeta"),
+        ENCHANTMENT_STORAGE("EnchantmentStorageMeta"),
+        FIREWORK_EFFECT("FireworkEffectMeta"),
+        FIREWORK("FireworkMeta"),
+        KNOWLEDGE_BOOK("KnowledgeBookMeta"),
+        LEATHER_ARMOR("LeatherArmorMeta"),
+        MAP("MapMeta"),
+        MUSIC_INSTRUMENT("MusicInstrumentMeta"),
+        POTION("PotionMeta"),
+        SKULL("SkullMeta"),
+        SUSPICIOUS_STEW("SuspiciousStewMeta"),
+        TROPICAL_FISH_BUCKET("TropicalFishBucketMeta");
+
+        private static final Capability[] VALUES = values();
+
+        private final String metaName;
+        private final Class<?> metaClass;
+        private final long mask;
+
+        Capability(final String simpleName) {
+            this.metaName = simpleName;
+            this.metaClass = resolve(ItemMeta.class.getPackageName() + "." + simpleName);
+            this.mask = 1L << ordinal();
+        }
+
+        /**
+         * @return the meta interface, or null if the running server does not have it
+         */
+        public Class<?> getMetaClass() {
+            return metaClass;
+        }
+
+        /**
+         * @return simple name of the meta interface, known even if the running server does not have it
+         */
+        public String getMetaName() {
+            return metaName;
+        }
+
+        public boolean isAvailable() {
+            return metaClass != null;
+        }
+
+        public long mask() {
+            return mask;
+        }
+
+        private static Class<?> resolve(final String name) {
+            try {
+                return Class.forName(name, false, ItemMeta.class.getClassLoader());
+            } catch (final ClassNotFoundException | LinkageError e) {
+                return null;
+            }
+        }
+
+        private static long maskOf(final ItemMeta meta) {
+            long mask = 0L;
+            for (final Capability capability : VALUES) {
+                if (capability.metaClass != null && capability.metaClass.isInstance(meta)) {
+                    mask |= capability.mask;
+                }
+            }
+            return mask;
+        }
+    }
+
+}
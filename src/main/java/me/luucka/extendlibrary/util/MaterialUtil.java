@@ -4,77 +4,81 @@ import org.bukkit.DyeColor;
 import org.bukkit.Material;
 import org.bukkit.inventory.ItemStack;
 
-import java.util.Set;
-
 public final class MaterialUtil {
     public static final Material SPAWNER = EnumUtil.getMaterial("MOB_SPAWNER", "SPAWNER");
-    private static final Set<Material> BEDS;
-    private static final Set<Material> BANNERS;
-    private static final Set<Material> EDITABLE_BOOKS;
-    private static final Set<Material> FIREWORKS;
-    private static final Set<Material> FIREWORK_CHARGE;
-    private static final Set<Material> LEGACY_SKULLS;
-    private static final Set<Material> LEATHER_ARMOR;
-    private static final Set<Material> MOB_HEADS;
+    private static final long HELMET = 1L;
+    private static final long CHESTPLATE = 1L << 1;
+    private static final long LEGGINGS = 1L << 2;
+    private static final long BOOTS = 1L << 3;
+    private static final long BED = 1L << 4;
+    private static final long BANNER = 1L << 5;
+    private static final long EDITABLE_BOOK = 1L << 6;
+    private static final long FIREWORK = 1L << 7;
+    private static final long FIREWORK_CHARGE = 1L << 8;
+    private static final long LEGACY_SKULL = 1L << 9;
+    private static final long LEATHER_ARMOR = 1L << 10;
+    private static final long MOB_HEAD = 1L << 11;
+    private static final long PLAYER_HEAD = 1L << 12;
     // includes TIPPED_ARROW which also has potion effects
-    private static final Set<Material> PLAYER_HEADS;
-    private static final Set<Material> POTIONS;
-    private static final Set<Material> SIGN_POSTS;
-    private static final Set<Material> WALL_SIGNS;
-    private static final Set<Material> HANGING_SIGNS;
-    private static final Set<Material> HANGING_WALL_SIGNS;
-
-    private static final Set<Material> HELMETS;
-    private static final Set<Material> CHESTPLATES;
-    private static final Set<Material> LEGGINGS;
-    private static final Set<Material> BOOTS;
+    private static final long POTION = 1L << 13;
+    private static final long SIGN_POST = 1L << 14;
+    private static final long WALL_SIGN = 1L << 15;
+    private static final long HANGING_SIGN = 1L << 16;
+    private static final long HANGING_WALL_SIGN = 1L << 17;
+
+    private static final long SIGN = SIGN_POST | WALL_SIGN | HANGING_SIGN | HANGING_WALL_SIGN;
+    private static final long SKULL = PLAYER_HEAD | LEGACY_SKULL;
+
+    // category flags and dye color of every material, indexed by ordinal
+    private static final long[] FLAGS = new long[Material.values().length];
+    private static final DyeColor[] COLORS = new DyeColor[Material.values().length];
 
     static {
-        HELMETS = EnumUtil.getAllMatching(Material.class, "LEATHER_HELMET", "CHAINMAIL_HELMET", "IRON_HELMET",
+        mark(HELMET, "LEATHER_HELMET", "CHAINMAIL_HELMET", "IRON_HELMET",
                 "GOLD_HELMET", "GOLDEN_HELMET", "DIAMOND_HELMET", "NETHERITE_HELMET", "TURTLE_HELMET");
 
-        CHESTPLATES = EnumUtil.getAllMatching(Material.class, "LEATHER_CHESTPLATE", "CHAINMAIL_CHESTPLATE",
+        mark(CHESTPLATE, "LEATHER_CHESTPLATE", "CHAINMAIL_CHESTPLATE",
                 "IRON_CHESTPLATE", "GOLD_CHESTPLATE", "GOLDEN_CHESTPLATE", "DIAMOND_CHESTPLATE", "NETHERITE_CHESTPLATE",
                 "ELYTRA");
 
-        LEGGINGS = EnumUtil.getAllMatching(Material.class, "LEATHER_LEGGINGS", "CHAINMAIL_LEGGINGS",
+        mark(LEGGINGS, "LEATHER_LEGGINGS", "CHAINMAIL_LEGGINGS",
                 "IRON_LEGGINGS", "GOLD_LEGGINGS", "GOLDEN_LEGGINGS", "DIAMOND_LEGGINGS", "NETHERITE_LEGGINGS");
 
-        BOOTS = EnumUtil.getAllMatching(Material.class, "LEATHER_BOOTS", "CHAINMAIL_BOOTS", "IRON_BOOTS",
+        mark(BOOTS, "LEATHER_BOOTS", "CHAINMAIL_BOOTS", "IRON_BOOTS",
                 "GOLD_BOOTS", "GOLDEN_BOOTS", "DIAMOND_BOOTS", "NETHERITE_BOOTS");
 
-        BEDS = EnumUtil.getAllMatching(Material.class, "BED", "BED_BLOCK", "WHITE_BED", "ORANGE_BED",
+        mark(BED, "BED", "BED_BLOCK", "WHITE_BED", "ORANGE_BED",
                 "MAGENTA_BED", "LIGHT_BLUE_BED", "YELLOW_BED", "LIME_BED", "PINK_BED", "GRAY_BED",
                 "LIGHT_GRAY_BED", "CYAN_BED", "PURPLE_BED", "BLUE_BED", "BROWN_BED", "GREEN_BED",
                 "RED_BED", "BLACK_BED");
 
-        BANNERS = EnumUtil.getAllMatching(Material.class, "BANNER", "WHITE_BANNER",
+        mark(BANNER, "BANNER", "WHITE_BANNER",
                 "ORANGE_BANNER", "MAGENTA_BANNER", "LIGHT_BLUE_BANNER", "YELLOW_BANNER", "LIME_BANNER",
                 "PINK_BANNER", "GRAY_BANNER", "LIGHT_GRAY_BANNER", "CYAN_BANNER", "PURPLE_BANNER",
                 "BLUE_BANNER", "BROWN_BANNER", "GREEN_BANNER", "RED_BANNER", "BLACK_BANNER", "SHIELD");
 
-        EDITABLE_BOOKS = EnumUtil.getAllMatching(Material.class, "WRITTEN_BOOK", "WRITABLE_BOOK", "BOOK_AND_QUILL");
+        mark(EDITABLE_BOOK, "WRITTEN_BOOK", "WRITABLE_BOOK", "BOOK_AND_QUILL");
 
-        FIREWORKS = EnumUtil.getAllMatching(Material.class, "FIREWORK", "FIREWORK_ROCKET");
+        mark(FIREWORK, "FIREWORK", "FIREWORK_ROCKET");
 
-        FIREWORK_CHARGE = EnumUtil.getAllMatching(Material.class, "FIREWORK_CHARGE", "FIREWORK_STAR");
+        mark(FIREWORK_CHARGE, "FIREWORK_CHARGE", "FIREWORK_STAR");
 
-        LEATHER_ARMOR = EnumUtil.getAllMatching(Material.class, "LEATHER_HELMET",
+        mark(LEATHER_ARMOR, "LEATHER_HELMET",
                 "LEATHER_CHESTPLATE", "LEATHER_LEGGINGS", "LEATHER_BOOTS");
 
-        LEGACY_SKULLS = EnumUtil.getAllMatching(Material.class, "SKULL", "SKULL_ITEM");
+        mark(LEGACY_SKULL, "SKULL", "SKULL_ITEM");
 
-        MOB_HEADS = EnumUtil.getAllMatching(Material.class, "SKELETON_SKULL",
+        mark(MOB_HEAD, "SKELETON_SKULL",
                 "SKELETON_WALL_SKULL", "WITHER_SKELETON_SKULL", "WITHER_SKELETON_WALL_SKULL",
                 "CREEPER_HEAD", "CREEPER_WALL_HEAD", "ZOMBIE_HEAD", "ZOMBIE_WALL_HEAD", "DRAGON_HEAD"
                 , "DRAGON_WALL_HEAD", "PIGLIN_HEAD", "PIGLIN_WALL_HEAD");
 
-        PLAYER_HEADS = EnumUtil.getAllMatching(Material.class, "PLAYER_HEAD", "PLAYER_WALL_HEAD");
+        mark(PLAYER_HEAD, "PLAYER_HEAD", "PLAYER_WALL_HEAD");
 
-        POTIONS = EnumUtil.getAllMatching(Material.class, "POTION", "SPLASH_POTION",
+        mark(POTION, "POTION", "SPLASH_POTION",
                 "LINGERING_POTION", "TIPPED_ARROW");
 
-        SIGN_POSTS = EnumUtil.getAllMatching(Material.class, "SIGN", "SIGN_POST",
+        mark(SIGN_POST, "SIGN", "SIGN_POST",
                 "ACACIA_SIGN", "BIRCH_SIGN",
                 "DARK_OAK_SIGN", "JUNGLE_SIGN",
                 "OAK_SIGN", "SPRUCE_SIGN",
@@ -82,7 +86,7 @@ public final class MaterialUtil {
                 "MANGROVE_SIGN", "CHERRY_SIGN",
                 "BAMBOO_SIGN");
 
-        WALL_SIGNS = EnumUtil.getAllMatching(Material.class, "WALL_SIGN",
+        mark(WALL_SIGN, "WALL_SIGN",
                 "ACACIA_WALL_SIGN", "BIRCH_WALL_SIGN",
                 "DARK_OAK_WALL_SIGN", "JUNGLE_WALL_SIGN",
                 "OAK_WALL_SIGN", "SPRUCE_WALL_SIGN",
@@ -90,94 +94,98 @@ public final class MaterialUtil {
                 "MANGROVE_WALL_SIGN", "CHERRY_WALL_SIGN",
                 "BAMBOO_WALL_SIGN");
 
-        HANGING_SIGNS = EnumUtil.getAllMatching(Material.class, "ACACIA_HANGING_SIGN", "BIRCH_HANGING_SIGN",
+        mark(HANGING_SIGN, "ACACIA_HANGING_SIGN", "BIRCH_HANGING_SIGN",
                 "DARK_OAK_HANGING_SIGN", "JUNGLE_HANGING_SIGN",
                 "OAK_HANGING_SIGN", "SPRUCE_HANGING_SIGN",
                 "CRIMSON_HANGING_SIGN", "WARPED_HANGING_SIGN",
                 "MANGROVE_HANGING_SIGN", "CHERRY_HANGING_SIGN",
                 "BAMBOO_HANGING_SIGN");
 
-        HANGING_WALL_SIGNS = EnumUtil.getAllMatching(Material.class, "ACACIA_WALL_HANGING_SIGN", "BIRCH_WALL_HANGING_SIGN",
+        mark(HANGING_WALL_SIGN, "ACACIA_WALL_HANGING_SIGN", "BIRCH_WALL_HANGING_SIGN",
                 "DARK_OAK_WALL_HANGING_SIGN", "JUNGLE_WALL_HANGING_SIGN",
                 "OAK_WALL_HANGING_SIGN", "SPRUCE_WALL_HANGING_SIGN",
                 "CRIMSON_WALL_HANGING_SIGN", "WARPED_WALL_HANGING_SIGN",
                 "MANGROVE_WALL_HANGING_SIGN", "CHERRY_WALL_HANGING_SIGN",
                 "BAMBOO_WALL_HANGING_SIGN");
+
+        for (final Material material : Material.values()) {
+            COLORS[material.ordinal()] = colorOf(material);
+        }
     }
 
     private MaterialUtil() {
     }
 
     public static boolean isHelmet(final Material material) {
-        return HELMETS.contains(material);
+        return is(material, HELMET);
     }
 
     public static boolean isChestplate(final Material material) {
-        return CHESTPLATES.contains(material);
+        return is(material, CHESTPLATE);
     }
 
     public static boolean isLeggings(final Material material) {
-        return LEGGINGS.contains(material);
+        return is(material, LEGGINGS);
     }
 
     public static boolean isBoots(final Material material) {
-        return BOOTS.contains(material);
+        return is(material, BOOTS);
     }
 
     public static boolean isBed(final Material material) {
-        return BEDS.contains(material);
+        return is(material, BED);
     }
 
     public static boolean isBanner(final Material material) {
-        return BANNERS.contains(material);
+        return is(material, BANNER);
     }
 
     public static boolean isFirework(final Material material) {
-        return FIREWORKS.contains(material);
+        return is(material, FIREWORK);
     }
 
     public static boolean isFireworkCharge(final Material material) {
-        return FIREWORK_CHARGE.contains(material);
+        return is(material, FIREWORK_CHARGE);
     }
 
     public static boolean isLeatherArmor(final Material material) {
-        return LEATHER_ARMOR.contains(material);
+        return is(material, LEATHER_ARMOR);
     }
 
     public static boolean isPlayerHead(final ItemStack stack) {
-        return PLAYER_HEADS.contains(stack.getType());
+        return is(stack.getType(), PLAYER_HEAD);
     }
 
     public static boolean isPotion(final Material material) {
-        return POTIONS.contains(material);
+        return is(material, POTION);
     }
 
     public static boolean isSignPost(final Material material) {
-        return SIGN_POSTS.contains(material);
+        return is(material, SIGN_POST);
     }
 
     public static boolean isWallSign(final Material material) {
-        return WALL_SIGNS.contains(material);
+        return is(material, WALL_SIGN);
     }
 
     public static boolean isHangingSign(final Material material) {
-        return HANGING_SIGNS.contains(material);
+        return is(material, HANGING_SIGN);
     }
 
     public static boolean isWallHangingSign(final Material material) {
-        return HANGING_WALL_SIGNS.contains(material);
+        return is(material, HANGING_WALL_SIGN);
     }
 
     public static boolean isEditableBook(final Material material) {
-        return EDITABLE_BOOKS.contains(material);
+        return is(material, EDITABLE_BOOK);
     }
 
     public static boolean isSign(final Material material) {
-        return isSignPost(material) || isWallSign(material) || isHangingSign(material) || isWallHangingSign(material);
+        return is(material, SIGN);
     }
 
     public static boolean isSkull(final Material material) {
-        return PLAYER_HEADS.contains(material) || LEGACY_SKULLS.contains(material);
+        return is(material, SKULL);
     }
 
     public static boolean isAir(final Material material) {
@@ -185,6 +193,20 @@ public final class MaterialUtil {
     }
 
     public static DyeColor getColorOf(final Material material) {
+        return COLORS[material.ordinal()];
+    }
+
+    private static boolean is(final Material material, final long flags) {
+        return material != null && (FLAGS[material.ordinal()] & flags) != 0;
+    }
+
+    private static void mark(final long flag, final String... names) {
+        for (final Material material : EnumUtil.getAllMatching(Material.class, names)) {
+            FLAGS[material.ordinal()] |= flag;
+        }
+    }
+
+    private static DyeColor colorOf(final Material material) {
         for (final DyeColor color : DyeColor.values()) {
             if (material.toString().contains(color.name())) {
                 return color;
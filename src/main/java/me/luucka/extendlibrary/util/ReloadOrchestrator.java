@@ -0,0 +1,284 @@
+package me.luucka.extendlibrary.util;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
+
+/**
+ * ReloadOrchestrator reloads a set of components in dependency order.
+ * <p>
+ * {@link IStagedReload} components are prepared on a worker pool, each one as soon as its dependencies
+ * are prepared, so independent components load in parallel. A prepare receives the prepared states of its
+ * dependencies, nothing is published yet at that point. Once every component is prepared, all of them are
+ * published on the main thread in dependency order, in the same tick. If a prepare fails nothing is
+ * published; if a publish fails the components already published are rolled back.
+ * <p>
+ * Plain {@link IReload} components are reloaded on the main thread during the publish phase, they
+ * cannot be rolled back. They may depend on staged components, not the other way around.
+ * <pre>
+ * orchestrator.register("messages", message)
+ *         .register("templates", templates)
+ *         .register("menus", menuTemplates, "messages", "templates");
+ * orchestrator.reloadAll().thenAccept(report -&gt; sender.sendMessage(report.toString()));
+ * </pre>
+ */
+@SuppressWarnings("unused")
+public class ReloadOrchestrator {
+
+    private final JavaPlugin plugin;
+    private final Executor workers;
+    private final Map<String, Node> nodes = new LinkedHashMap<>();
+
+    /**
+     * Constructor
+     *
+     * @param plugin  {@link JavaPlugin} owning the components
+     * @param workers {@link Executor} running the prepare phase
+     */
+    public ReloadOrchestrator(final JavaPlugin plugin, final Executor workers) {
+        this.plugin = plugin;
+        this.workers = workers;
+    }
+
+    /**
+     * Register a component
+     *
+     * @param name      unique component name
+     * @param component the component
+     * @param dependsOn names of the components that must be reloaded first
+     * @return this orchestrator
+     */
+    public synchronized ReloadOrchestrator register(final String name, final IReload component, final String... dependsOn) {
+        if (nodes.containsKey(name)) {
+            throw new IllegalArgumentException("Component " + name + " is already registered");
+        }
+        nodes.put(name, new Node(name, component, List.of(dependsOn)));
+        return this;
+    }
+
+    public synchronized void unregister(final String name) {
+        nodes.remove(name);
+    }
+
+    /**
+     * Reload every component
+     *
+     * @return a future completed on the main thread with the {@link ReloadReport}, or exceptionally if the
+     * plugin is disabled before the publish phase
+     * @throws IllegalArgumentException if a dependency is missing, the dependencies have a cycle or a staged
+     *                                  component depends on a plain one
+     */
+    public CompletableFuture<ReloadReport> reloadAll() {
+        final List<Node> order;
+        synchronized (this) {
+            order = sort();
+        }
+
+        final Map<String, Duration> prepareTimes = Collections.synchronizedMap(new LinkedHashMap<>());
+        final Map<String, CompletableFuture<Object>> prepared = new HashMap<>();
+        final Map<String, IStagedReload<?>> components = new HashMap<>();
+        for (final Node node : order) {
+            final Map<String, CompletableFuture<Object>> dependencies = new HashMap<>();
+            for (final String dependency : node.dependsOn) {
+                dependencies.put(dependency, prepared.get(dependency));
+            }
+            final Map<String, IStagedReload<?>> dependencyComponents = new HashMap<>(components);
+            dependencyComponents.keySet().retainAll(node.dependsOn);
+            if (node.component instanceof IStagedReload<?> staged) components.put(node.name, staged);
+            prepared.put(node.name, CompletableFuture.allOf(dependencies.values().toArray(CompletableFuture[]::new)).thenApplyAsync(ignored -> {
+                if (!(node.component instanceof IStagedReload<?> staged)) return null;
+                final long start = System.nanoTime();
+                try {
+                    return staged.prepare(dependencies(dependencyComponents, dependencies));
+                } catch (final Exception e) {
+                    throw new CompletionException(new ReloadException(node.name, e));
+                } finally {
+                    prepareTimes.put(node.name, Duration.ofNanos(System.nanoTime() - start));
+                }
+            }, workers));
+        }
+
+        final CompletableFuture<ReloadReport> result = new CompletableFuture<>();
+        CompletableFuture.allOf(prepared.values().toArray(CompletableFuture[]::new)).whenComplete((ignored, error) -> {
+            try {
+                Bukkit.getScheduler().runTask(plugin, () -> {
+                    final ReloadReport report = error != null
+                            ? new ReloadReport(false, failedComponent(error), cause(error), Map.copyOf(prepareTimes), Map.of())
+                            : publish(order, prepared, Map.copyOf(prepareTimes));
+                    if (!report.isSuccess()) {
+                        plugin.getLogger().log(Level.SEVERE, "Reload failed in " + report.getFailedComponent(), report.getFailure());
+                    }
+                    result.complete(report);
+                });
+            } catch (final RuntimeException e) {
+                // the plugin was disabled while preparing, nothing is published
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    // the futures are complete when this runs
+    private static IStagedReload.Dependencies dependencies(final Map<String, IStagedReload<?>> components, final Map<String, CompletableFuture<Object>> futures) {
+        if (futures.isEmpty()) return IStagedReload.Dependencies.NONE;
+        final Map<String, Object> states = new HashMap<>();
+        futures.forEach((name, future) -> states.put(name, future.join()));
+        return IStagedReload.Dependencies.of(components, states);
+    }
+
+    private ReloadReport publish(final List<Node> order, final Map<String, CompletableFuture<Object>> prepared, final Map<String, Duration> prepareTimes) {
+        final Map<String, Duration> publishTimes = new LinkedHashMap<>();
+        final Deque<Runnable> rollback = new ArrayDeque<>();
+        for (final Node node : order) {
+            final long start = System.nanoTime();
+            try {
+                if (node.component instanceof IStagedReload<?> staged) {
+                    rollback.push(publish(staged, prepared.get(node.name).join()));
+                } else {
+                    node.component.reload();
+                }
+            } catch (final RuntimeException e) {
+                while (!rollback.isEmpty()) {
+                    try {
+                        rollback.pop().run();
+                    } catch (final RuntimeException suppressed) {
+                        e.addSuppressed(suppressed);
+                    }
+                }
+                return new ReloadReport(false, node.name, e, prepareTimes, Map.copyOf(publishTimes));
+            } finally {
+                publishTimes.put(node.name, Duration.ofNanos(System.nanoTime() - start));
+            }
+        }
+        return new ReloadReport(true, null, null, prepareTimes, Map.copyOf(publishTimes));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <S> Runnable publish(final IStagedReload<S> component, final Object state) {
+        final S previous = component.publish((S) state);
+        return () -> component.publish(previous);
+    }
+
+    private List<Node> sort() {
+        final List<Node> order = new ArrayList<>(nodes.size());
+        final Set<String> visited = new HashSet<>();
+        final Set<String> visiting = new HashSet<>();
+        for (final Node node : nodes.values()) {
+            visit(node, order, visited, visiting);
+        }
+        return order;
+    }
+
+    private void visit(final Node node, final List<Node> order, final Set<String> visited, final Set<String> visiting) {
+        if (visited.contains(node.name)) return;
+        if (!visiting.add(node.name)) {
+            throw new IllegalArgumentException("Component " + node.name + " depends on itself");
+        }
+        for (final String dependency : node.dependsOn) {
+            final Node other = nodes.get(dependency);
+            if (other == null) {
+                throw new IllegalArgumentException("Component " + node.name + " depends on unknown component " + dependency);
+            }
+            if (node.component instanceof IStagedReload<?> && !(other.component instanceof IStagedReload<?>)) {
+                // a plain component only reloads in the publish phase, after every prepare
+                throw new IllegalArgumentException("Staged component " + node.name + " cannot depend on plain component " + dependency);
+            }
+            visit(other, order, visited, visiting);
+        }
+        visiting.remove(node.name);
+        visited.add(node.name);
+        order.add(node);
+    }
+
+    private static String failedComponent(final Throwable error) {
+        final Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+        return cause instanceof ReloadException reload ? reload.component : null;
+    }
+
+    private static Throwable cause(final Throwable error) {
+        final Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+        return cause instanceof ReloadException reload ? reload.getCause() : cause;
+    }
+
+    private record Node(String name, IReload component, List<String> dependsOn) {
+    }
+
+    private static final class ReloadException extends RuntimeException {
+        private final String component;
+
+        private ReloadException(final String component, final Throwable cause) {
+            super(cause);
+            this.component = component;
+        }
+    }
+
+    /**
+     * Outcome and per-component timings of a reload.
+     */
+    public static final class ReloadReport {
+        private final boolean success;
+        private final String failedComponent;
+        private final Throwable failure;
+        private final Map<String, Duration> prepareTimes;
+        private final Map<String, Duration> publishTimes;
+
+        private ReloadReport(final boolean success, final String failedComponent, final Throwable failure,
+                             final Map<String, Duration> prepareTimes, final Map<String, Duration> publishTimes) {
+            this.success = success;
+            this.failedComponent = failedComponent;
+            this.failure = failure;
+            this.prepareTimes = prepareTimes;
+            this.publishTimes = publishTimes;
+        }
+
+        public boolean isSuccess() {
+            return success;
+        }
+
+        /**
+         * @return name of the component that failed, or null
+         */
+        public String getFailedComponent() {
+            return failedComponent;
+        }
+
+        public Throwable getFailure() {
+            return failure;
+        }
+
+        /**
+         * @return time spent preparing each {@link IStagedReload} component, off the main thread
+         */
+        public Map<String, Duration> getPrepareTimes() {
+            return prepareTimes;
+        }
+
+        /**
+         * @return time spent on the main thread by each component
+         */
+        public Map<String, Duration> getPublishTimes() {
+            return publishTimes;
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder sb = new StringBuilder(success ? "Reload completed" : "Reload failed in " + failedComponent);
+            final Set<String> names = new LinkedHashSet<>(prepareTimes.keySet());
+            names.addAll(publishTimes.keySet());
+            for (final String name : names) {
+                sb.append("\n  ").append(name).append(": ");
+                final Duration prepare = prepareTimes.get(name);
+                if (prepare != null) sb.append("prepare ").append(prepare.toMillis()).append(" ms, ");
+                final Duration publish = publishTimes.get(name);
+                sb.append("publish ").append(publish == null ? "-" : publish.toMillis() + " ms");
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -4,12 +4,7 @@ import com.google.common.base.Objects;
 import com.google.common.collect.ImmutableSet;
 import org.bukkit.Bukkit;
 
-import java.util.HashSet;
 import java.util.Set;
-import java.util.logging.Level;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 public final class VersionUtil {
 
@@ -24,35 +19,116 @@ public final class VersionUtil {
 
     private static final Set<ServerVersion> allVersions = ImmutableSet.of(v1_13_2_R01, v1_14_4_R01, v1_15_2_R01, v1_16_5_R01, v1_17_1_R01, v1_18_2_R01, v1_19_4_R01, v1_20_4_R01);
 
-    private static ServerVersion serverVersion = null;
-
+    /**
+     * Return the version of the running server, resolved once on first use
+     *
+     * @return the server {@link ServerVersion}
+     * @throws IllegalArgumentException if the server reports a version that cannot be parsed
+     */
     public static ServerVersion getServerVersion() {
-        if (serverVersion == null) {
-            serverVersion = ServerVersion.fromString(Bukkit.getServer().getBukkitVersion());
-        }
-        return serverVersion;
+        Server.check();
+        return Server.VERSION;
     }
 
-    private static final Set<ServerVersion> supportedVersions = new HashSet<>();
-
+    /**
+     * @return an immutable set of every version known to this library
+     */
     public static Set<ServerVersion> getSupportedVersions() {
-        return VersionUtil.supportedVersions;
+        return allVersions;
     }
 
-    public static boolean isServerVersionSupported(ServerVersion minVersion) {
-        VersionUtil.supportedVersions.clear();
-        VersionUtil.supportedVersions.addAll(allVersions.stream()
+    /**
+     * Return the known versions at or above the given version
+     *
+     * @param minVersion minimum version
+     * @return an immutable set of versions
+     */
+    public static Set<ServerVersion> getSupportedVersions(final ServerVersion minVersion) {
+        return allVersions.stream()
                 .filter(version -> version.isHigherThanOrEqualTo(minVersion))
-                .collect(Collectors.toSet()));
-        return VersionUtil.supportedVersions.contains(getServerVersion());
+                .collect(ImmutableSet.toImmutableSet());
+    }
+
+    public static boolean isServerVersionSupported(final ServerVersion minVersion) {
+        final ServerVersion version = getServerVersion();
+        return allVersions.contains(version) && version.isHigherThanOrEqualTo(minVersion);
+    }
+
+    /**
+     * Return true if the running server has the given feature, a constant read after the first call
+     *
+     * @param feature the {@link Feature}
+     * @return true if the feature is available
+     * @throws IllegalArgumentException if the server reports a version that cannot be parsed
+     */
+    public static boolean isSupported(final Feature feature) {
+        Server.check();
+        return Server.FEATURES[feature.ordinal()];
     }
 
     private VersionUtil() {
     }
 
-    public static final class ServerVersion implements Comparable<ServerVersion> {
+    /**
+     * Server features that depend on the version.
+     */
+    public enum Feature {
+        PERSISTENT_DATA(1, 14, 0),
+        CUSTOM_MODEL_DATA(1, 14, 0),
+        HEX_COLORS(1, 16, 0),
+        MUSIC_INSTRUMENTS(1, 19, 3),
+        HANGING_SIGNS(1, 20, 0),
+        ARMOR_TRIMS(1, 20, 0),
+        BASE_POTION_TYPE(1, 20, 2);
+
+        private final ServerVersion since;
+
+        Feature(final int major, final int minor, final int patch) {
+            this.since = new ServerVersion(major, minor, patch, 0);
+        }
 
-        private static final Pattern VERSION_PATTERN = Pattern.compile("^(\\d+)\\.(\\d+)\\.?([0-9]*)?(?:-?R?([\\d.]+))?(?:-SNAPSHOT)?");
+        /**
+         * @return the first version with this feature
+         */
+        public ServerVersion getSince() {
+            return since;
+        }
+
+        public boolean isSupported() {
+            return VersionUtil.isSupported(this);
+        }
+    }
+
+    // resolved on first use, class initialization makes it safe from any thread.
+    // A parse failure is kept and rethrown on every call, it must not turn into a NoClassDefFoundError
+    private static final class Server {
+        private static final ServerVersion VERSION;
+        private static final IllegalArgumentException FAILURE;
+        private static final boolean[] FEATURES = new boolean[Feature.values().length];
+
+        static {
+            ServerVersion version = null;
+            IllegalArgumentException failure = null;
+            try {
+                version = ServerVersion.fromString(Bukkit.getServer().getBukkitVersion());
+                for (final Feature feature : Feature.values()) {
+                    FEATURES[feature.ordinal()] = version.isHigherThanOrEqualTo(feature.getSince());
+                }
+            } catch (final IllegalArgumentException e) {
+                failure = e;
+            }
+            VERSION = version;
+            FAILURE = failure;
+        }
+
+        private static void check() {
+            if (FAILURE != null) {
+                throw new IllegalArgumentException("Unsupported server version: " + FAILURE.getMessage(), FAILURE);
+            }
+        }
+    }
+
+    public static final class ServerVersion implements Comparable<ServerVersion> {
 
         private final int major;
         private final int minor;
@@ -66,25 +142,89 @@ public final class VersionUtil {
             this.revision = revision;
         }
 
+        /**
+         * Parse a version such as {@code 1.20.4-R0.1-SNAPSHOT}, {@code 1.20-R0.1} or {@code 1.20.4}
+         *
+         * @param string the version
+         * @return the {@link ServerVersion}
+         * @throws IllegalArgumentException if the version is not in a valid format
+         */
         public static ServerVersion fromString(final String string) {
-            Matcher matcher = VERSION_PATTERN.matcher(string);
-            if (!matcher.matches()) {
-                Bukkit.getLogger().log(Level.SEVERE, string + " is not in valid version format. e.g. 1.20.1-R0.1");
+            final Parser parser = new Parser(string);
+            final int major = parser.number();
+            parser.expect('.');
+            final int minor = parser.number();
+            int patch = 0;
+            if (parser.skip('.') && parser.isDigit()) patch = parser.number();
+            double revision = 0;
+            final boolean dash = parser.skip('-');
+            final boolean r = parser.skip('R');
+            if ((dash || r) && parser.isDigit()) {
+                revision = parser.decimal();
+            } else if (r) {
+                throw parser.error();
+            } else if (dash) {
+                parser.position--;
+            }
+            if (!parser.atEnd() && !parser.rest().equals("-SNAPSHOT")) {
+                throw parser.error();
             }
-            return from(matcher.group(1), matcher.group(2), matcher.group(3), matcher.group(4));
+            return new ServerVersion(major, minor, patch, revision);
         }
 
-        private static ServerVersion from(final String major, final String minor, String patch, String revision) {
-            if (patch == null || patch.isEmpty()) patch = "0";
-            if (revision == null || revision.isEmpty()) revision = "0";
-            return new ServerVersion(
-                    Integer.parseInt(major),
-                    Integer.parseInt(minor),
-                    Integer.parseInt(patch),
-                    Double.parseDouble(revision)
-            );
-        }
+        private static final class Parser {
+            private final String string;
+            private int position;
+
+            private Parser(final String string) {
+                this.string = string;
+            }
+
+            private boolean atEnd() {
+                return position >= string.length();
+            }
+
+            private boolean isDigit() {
+                return !atEnd() && string.charAt(position) >= '0' && string.charAt(position) <= '9';
+            }
+
+            private boolean skip(final char c) {
+                if (atEnd() || string.charAt(position) != c) return false;
+                position++;
+                return true;
+            }
 
+            private void expect(final char c) {
+                if (!skip(c)) throw error();
+            }
+
+            private int number() {
+                if (!isDigit()) throw error();
+                int value = 0;
+                while (isDigit()) {
+                    value = Math.addExact(Math.multiplyExact(value, 10), string.charAt(position++) - '0');
+                }
+                return value;
+            }
+
+            private double decimal() {
+                final int start = position;
+                while (isDigit() || !atEnd() && string.charAt(position) == '.') position++;
+                try {
+                    return Double.parseDouble(string.substring(start, position));
+                } catch (final NumberFormatException e) {
+                    throw error();
+                }
+            }
+
+            private String rest() {
+                return string.substring(position);
+            }
+
+            private IllegalArgumentException error() {
+                return new IllegalArgumentException(string + " is not in valid version format. e.g. 1.20.1-R0.1");
+            }
+        }
 
         public boolean isHigherThan(final ServerVersion o) {
             return compareTo(o) > 0;
@@ -0,0 +1,57 @@
+package me.luucka.extendlibrary.util.adapter;
+
+import me.luucka.extendlibrary.util.EnumUtil;
+import me.luucka.extendlibrary.util.VersionUtil;
+import me.luucka.extendlibrary.util.VersionUtil.Feature;
+import org.bukkit.inventory.ItemFlag;
+import org.bukkit.inventory.meta.MusicInstrumentMeta;
+import org.bukkit.inventory.meta.PotionMeta;
+import org.bukkit.potion.PotionData;
+import org.bukkit.potion.PotionType;
+
+/**
+ * Adapters holds the implementation of every version-sensitive operation, picked once from
+ * {@link VersionUtil} when the class is loaded.
+ * <p>
+ * The fields are final and never change, so every call site only ever sees one implementation and
+ * does no version check per call.
+ */
+@SuppressWarnings({"unused", "deprecation"})
+public final class Adapters {
+
+    public static final PotionAdapter POTION = VersionUtil.isSupported(Feature.BASE_POTION_TYPE)
+            ? Adapters::setBasePotionType
+            : Adapters::setBasePotionData;
+
+    public static final ArmorTrimAdapter ARMOR_TRIM = armorTrim();
+
+    public static final InstrumentAdapter INSTRUMENT = VersionUtil.isSupported(Feature.MUSIC_INSTRUMENTS)
+            ? (meta, instrument) -> ((MusicInstrumentMeta) meta).setInstrument(instrument)
+            : (meta, instrument) -> {
+            };
+
+    private Adapters() {
+    }
+
+    private static ArmorTrimAdapter armorTrim() {
+        final ItemFlag flag = VersionUtil.isSupported(Feature.ARMOR_TRIMS)
+                ? EnumUtil.valueOf(ItemFlag.class, "HIDE_ARMOR_TRIM")
+                : null;
+        if (flag == null) {
+            return meta -> {
+            };
+        }
+        return meta -> meta.addItemFlags(flag);
+    }
+
+    private static void setBasePotionData(final PotionMeta meta, final PotionType type, final boolean extended, final boolean upgraded) {
+        meta.setBasePotionData(new PotionData(type, type.isExtendable() && extended, type.isUpgradeable() && upgraded));
+    }
+
+    private static void setBasePotionType(final PotionMeta meta, final PotionType type, final boolean extended, final boolean upgraded) {
+        PotionType variant = null;
+        if (extended) variant = EnumUtil.valueOf(PotionType.class, "LONG_" + type.name());
+        else if (upgraded) variant = EnumUtil.valueOf(PotionType.class, "STRONG_" + type.name());
+        meta.setBasePotionType(variant != null ? variant : type);
+    }
+}
@@ -0,0 +1,13 @@
+package me.luucka.extendlibrary.util.adapter;
+
+import org.bukkit.inventory.meta.ItemMeta;
+
+/**
+ * Hides the armor trim of an item, does nothing on servers without armor trims.
+ */
+@FunctionalInterface
+public interface ArmorTrimAdapter {
+
+    void hideArmorTrim(ItemMeta meta);
+
+}
@@ -0,0 +1,14 @@
+package me.luucka.extendlibrary.util.adapter;
+
+import org.bukkit.MusicInstrument;
+import org.bukkit.inventory.meta.ItemMeta;
+
+/**
+ * Sets the instrument of a goat horn, does nothing on servers without music instruments.
+ */
+@FunctionalInterface
+public interface InstrumentAdapter {
+
+    void setInstrument(ItemMeta meta, MusicInstrument instrument);
+
+}
@@ -0,0 +1,15 @@
+package me.luucka.extendlibrary.util.adapter;
+
+import org.bukkit.inventory.meta.PotionMeta;
+import org.bukkit.potion.PotionType;
+
+/**
+ * Sets the base potion of a {@link PotionMeta}, through {@code PotionData} before 1.20.2
+ * and through the long and strong {@link PotionType}s after.
+ */
+@FunctionalInterface
+public interface PotionAdapter {
+
+    void setBasePotion(PotionMeta meta, PotionType type, boolean extended, boolean upgraded);
+
+}
@@ -0,0 +1,161 @@
+package me.luucka.extendlibrary;
+
+import me.luucka.extendlibrary.message.MessageBuilder;
+import me.luucka.extendlibrary.message.serializer.*;
+import me.luucka.extendlibrary.util.ItemBuilder;
+import me.luucka.extendlibrary.util.MMColor;
+import me.luucka.extendlibrary.util.MaterialUtil;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Gates the allocation and the p50 latency of the library hot paths against {@code hot-path-budgets.properties}.
+ * <p>
+ * Each path runs next to a reference doing the same underlying work without the library, the budgets are the
+ * bytes the library may add over it and the ratio of the two p50s, so they do not depend on the machine.
+ * A path without an allocation budget fails. The p99 is only reported, it is too noisy on shared runners.
+ */
+class HotPathBudgetTest {
+
+    private static final int WARMUP = 20_000;
+    private static final int SAMPLES = 20_000;
+    // operations per latency sample, a single one is below the resolution of nanoTime on some machines
+    private static final int BATCH = 50;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static final String MESSAGE = "<prefix> <gray>Welcome <yellow><player></yellow>, you have <green><coins></green> coins in <aqua><world>";
+    private static final String PREFIX = "<dark_gray>[<aqua>Server</aqua>]</dark_gray>";
+
+    private static final Properties BUDGETS = new Properties();
+    private static final Map<Class<?>, TypeSerializer<?>> SERIALIZERS = new HashMap<>();
+
+    // keeps the results alive so the JIT cannot drop the measured work
+    private static volatile Object sink;
+
+    @BeforeAll
+    static void setup() throws IOException {
+        TestServer.install();
+        try (InputStream in = HotPathBudgetTest.class.getResourceAsStream("/hot-path-budgets.properties")) {
+            assertNotNull(in, "hot-path-budgets.properties is missing");
+            BUDGETS.load(in);
+        }
+        SERIALIZERS.put(String.class, new StringSerializer());
+        SERIALIZERS.put(Integer.class, new IntegerSerializer());
+        SERIALIZERS.put(TextComponent.class, new ComponentSerializer());
+    }
+
+    @Test
+    void messageBuild() {
+        final TypeSerializer<String> strings = new StringSerializer();
+        final TypeSerializer<Integer> integers = new IntegerSerializer();
+        final String prefixed = MESSAGE.replace("<prefix>", PREFIX);
+        gate("message.build",
+                () -> new MessageBuilder(SERIALIZERS, MESSAGE, PREFIX)
+                        .with("player", "Notch").with("coins", 1000).with("world", "world").build(),
+                () -> MiniMessage.miniMessage().deserialize(prefixed, TagResolver.resolver(
+                        Placeholder.component("player", strings.serialize("Notch")),
+                        Placeholder.component("coins", integers.serialize(1000)),
+                        Placeholder.component("world", strings.serialize("world")))));
+    }
+
+    @Test
+    void serializerResolve() {
+        final TypeSerializer<String> strings = new StringSerializer();
+        gate("serializer.resolve",
+                () -> new MessageBuilder(SERIALIZERS, "<player>", "").with("player", "Notch"),
+                () -> {
+                    final Set<TagResolver> replacements = new HashSet<>();
+                    replacements.add(Placeholder.component("player", strings.serialize("Notch")));
+                    return replacements;
+                });
+    }
+
+    @Test
+    void materialUtilLookup() {
+        final Material[] materials = Material.values();
+        final int[] next = {0};
+        gate("materialutil.lookup",
+                () -> {
+                    final Material material = materials[next[0]++ % materials.length];
+                    return MaterialUtil.isSign(material) | MaterialUtil.isHelmet(material) | MaterialUtil.isBed(material);
+                },
+                () -> materials[next[0]++ % materials.length]);
+    }
+
+    @Test
+    void itemBuilderBuild() {
+        final ItemBuilder builder = new ItemBuilder(Material.DIAMOND_SWORD)
+                .setDisplayName(MMColor.toComponent("<aqua>Diamond Sword"))
+                .setLore(MMColor.toComponent("<gray>A sharp sword", "<gray>Price: <yellow>100"));
+        final ItemMeta meta = builder.build().getItemMeta();
+        gate("itembuilder.build", builder::build, () -> {
+            final ItemStack item = new ItemStack(Material.DIAMOND_SWORD, 1);
+            item.setItemMeta(meta);
+            return item;
+        });
+    }
+
+    private static void gate(final String path, final Supplier<?> operation, final Supplier<?> reference) {
+        final String bytesBudget = BUDGETS.getProperty(path + ".bytes");
+        assertNotNull(bytesBudget, path + ".bytes has no budget");
+
+        final Result measured = measure(operation);
+        final Result baseline = measure(reference);
+        System.out.println(path + ": " + measured + ", reference " + baseline);
+
+        final double tolerance = Double.parseDouble(BUDGETS.getProperty("tolerance.bytes", "0.05"));
+        final long extra = measured.bytes - baseline.bytes;
+        final long limit = Long.parseLong(bytesBudget) + (long) Math.ceil(baseline.bytes * tolerance);
+        assertTrue(extra <= limit, path + " allocates " + extra + " B/op over its reference, budget " + limit);
+
+        final String p50Budget = BUDGETS.getProperty(path + ".p50");
+        if (p50Budget != null) {
+            final double ratio = (double) measured.p50 / Math.max(1, baseline.p50);
+            assertTrue(ratio <= Double.parseDouble(p50Budget),
+                    path + " p50 is " + String.format(Locale.ROOT, "%.2f", ratio) + "x its reference, budget " + p50Budget + "x");
+        }
+    }
+
+    private static Result measure(final Supplier<?> operation) {
+        for (int i = 0; i < WARMUP; i++) sink = operation.get();
+
+        final long thread = Thread.currentThread().getId();
+        final long allocatedBefore = THREADS.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < SAMPLES; i++) sink = operation.get();
+        final long bytes = (THREADS.getThreadAllocatedBytes(thread) - allocatedBefore) / SAMPLES;
+
+        final long[] latencies = new long[SAMPLES / BATCH];
+        for (int i = 0; i < latencies.length; i++) {
+            final long start = System.nanoTime();
+            for (int j = 0; j < BATCH; j++) sink = operation.get();
+            latencies[i] = (System.nanoTime() - start) / BATCH;
+        }
+        Arrays.sort(latencies);
+        return new Result(bytes, latencies[latencies.length / 2], latencies[latencies.length * 99 / 100]);
+    }
+
+    private record Result(long bytes, long p50, long p99) {
+        @Override
+        public String toString() {
+            return bytes + " B/op, p50 " + p50 + " ns, p99 " + p99 + " ns";
+        }
+    }
+}
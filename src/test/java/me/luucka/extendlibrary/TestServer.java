@@ -0,0 +1,194 @@
+package me.luucka.extendlibrary;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.Server;
+import org.bukkit.UnsafeValues;
+import org.bukkit.inventory.ItemFactory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.Damageable;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.inventory.meta.Repairable;
+
+import java.io.*;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * TestServer installs a minimal {@link Server} so tests can create and serialize {@link ItemStack}s without Minecraft.
+ * <p>
+ * Metas keep their properties in a map. {@link ItemStack#serializeAsBytes()} writes the material, the amount and
+ * an index into an in-memory table of metas, so bytes only round-trip inside the same JVM.
+ * <p>
+ * Published in the test-jar, the benchmarks run on it too.
+ */
+public final class TestServer {
+
+    public static final String VERSION = "1.20.4-R0.1-SNAPSHOT";
+    public static final int DATA_VERSION = 3700;
+
+    private static final List<ItemMeta> METAS = Collections.synchronizedList(new ArrayList<>());
+
+    private static boolean installed = false;
+
+    private TestServer() {
+    }
+
+    /**
+     * Install the test server, once per JVM
+     */
+    public static synchronized void install() {
+        if (installed) return;
+        final ItemFactory factory = proxy(ItemFactory.class, TestServer::factory);
+        final UnsafeValues unsafe = proxy(UnsafeValues.class, TestServer::unsafe);
+        final Logger logger = Logger.getLogger("TestServer");
+        Bukkit.setServer(proxy(Server.class, (proxy, method, args) -> switch (method.getName()) {
+            case "getItemFactory" -> factory;
+            case "getUnsafe" -> unsafe;
+            case "getLogger" -> logger;
+            case "getName" -> "TestServer";
+            case "getVersion", "getBukkitVersion" -> VERSION;
+            case "getMinecraftVersion" -> "1.20.4";
+            default -> objectMethod(proxy, method, args);
+        }));
+        installed = true;
+    }
+
+    private static Object factory(final Object proxy, final Method method, final Object[] args) {
+        return switch (method.getName()) {
+            case "getItemMeta" -> newMeta(new HashMap<>());
+            case "isApplicable" -> true;
+            case "asMetaFor" -> args[0];
+            case "updateMaterial" -> args[1];
+            case "equals" -> args.length == 2 ? Objects.equals(args[0], args[1]) : proxy == args[0];
+            default -> objectMethod(proxy, method, args);
+        };
+    }
+
+    private static Object unsafe(final Object proxy, final Method method, final Object[] args) throws IOException {
+        return switch (method.getName()) {
+            case "serializeItem" -> serialize((ItemStack) args[0]);
+            case "deserializeItem" -> deserialize((byte[]) args[0]);
+            case "getDataVersion" -> DATA_VERSION;
+            case "getMaterial" -> Material.getMaterial((String) args[0]);
+            default -> objectMethod(proxy, method, args);
+        };
+    }
+
+    private static byte[] serialize(final ItemStack item) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(item.getType().name());
+            out.writeInt(item.getAmount());
+            if (item.hasItemMeta()) {
+                METAS.add(item.getItemMeta());
+                out.writeInt(METAS.size() - 1);
+            } else {
+                out.writeInt(-1);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static ItemStack deserialize(final byte[] bytes) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            final ItemStack item = new ItemStack(Material.valueOf(in.readUTF()), in.readInt());
+            final int meta = in.readInt();
+            if (meta >= 0) item.setItemMeta(METAS.get(meta).clone());
+            return item;
+        }
+    }
+
+    private static ItemMeta newMeta(final Map<String, Object> values) {
+        return (ItemMeta) Proxy.newProxyInstance(TestServer.class.getClassLoader(),
+                new Class<?>[]{ItemMeta.class, Damageable.class, Repairable.class}, new MetaHandler(values));
+    }
+
+    // stores setters in a map and answers getters and has* methods from it
+    private record MetaHandler(Map<String, Object> values) implements InvocationHandler {
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) {
+            final String name = method.getName();
+            final int arity = args == null ? 0 : args.length;
+            switch (name) {
+                case "clone":
+                    final Map<String, Object> copy = new HashMap<>(values);
+                    if (values.containsKey("itemFlags")) copy.put("itemFlags", new HashSet<>(flags()));
+                    return newMeta(copy);
+                case "equals":
+                    return proxy == args[0] || args[0] != null && Proxy.isProxyClass(args[0].getClass())
+                            && Proxy.getInvocationHandler(args[0]) instanceof MetaHandler other && values.equals(other.values);
+                case "hashCode":
+                    return values.hashCode();
+                case "toString":
+                    return "TestMeta" + values;
+                case "addItemFlags":
+                    flags().addAll(Arrays.asList((Object[]) args[0]));
+                    return null;
+                case "removeItemFlags":
+                    flags().removeAll(Arrays.asList((Object[]) args[0]));
+                    return null;
+                case "getItemFlags":
+                    return Set.copyOf(flags());
+                case "hasItemFlag":
+                    return flags().contains(args[0]);
+                default:
+                    break;
+            }
+            if (name.startsWith("has") && arity == 0) {
+                return values.containsKey(property(name.substring(3)));
+            }
+            if (arity == 1 && (name.startsWith("set") || method.getReturnType() == void.class)) {
+                values.put(property(name.startsWith("set") ? name.substring(3) : name), args[0]);
+                return null;
+            }
+            if (arity == 0) {
+                final String key = name.startsWith("get") ? name.substring(3) : name.startsWith("is") ? name.substring(2) : name;
+                final Object value = values.get(property(key));
+                return value != null ? value : defaultValue(method.getReturnType());
+            }
+            return defaultValue(method.getReturnType());
+        }
+
+        @SuppressWarnings("unchecked")
+        private Set<Object> flags() {
+            return (Set<Object>) values.computeIfAbsent("itemFlags", k -> new HashSet<>());
+        }
+
+        private static String property(final String name) {
+            return name.isEmpty() ? name : Character.toLowerCase(name.charAt(0)) + name.substring(1);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(final Class<T> type, final InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(TestServer.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object objectMethod(final Object proxy, final Method method, final Object[] args) {
+        return switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "toString" -> "Test" + method.getDeclaringClass().getSimpleName();
+            default -> defaultValue(method.getReturnType());
+        };
+    }
+
+    private static Object defaultValue(final Class<?> type) {
+        if (type == boolean.class) return false;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == double.class) return 0D;
+        if (type == float.class) return 0F;
+        if (type == short.class) return (short) 0;
+        if (type == byte.class) return (byte) 0;
+        if (type == char.class) return (char) 0;
+        if (type == List.class || type == Collection.class) return List.of();
+        if (type == Set.class) return Set.of();
+        if (type == Map.class) return Map.of();
+        return null;
+    }
+}
@@ -0,0 +1,222 @@
+package me.luucka.extendlibrary.item.codec;
+
+import me.luucka.extendlibrary.TestServer;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemStackCodecTest {
+
+    @BeforeAll
+    static void server() {
+        TestServer.install();
+    }
+
+    @Test
+    void roundTripKeepsSlotsAndAmounts() {
+        final ItemStack[] items = {
+                new ItemStack(Material.STONE, 64),
+                null,
+                new ItemStack(Material.AIR),
+                named(Material.DIAMOND_SWORD, 1, "Excalibur", 7),
+                new ItemStack(Material.STONE, 3),
+                named(Material.DIAMOND_SWORD, 1, "Excalibur", 7),
+                named(Material.DIAMOND_SWORD, 1, "Durendal", 7)
+        };
+
+        final ItemStack[] decoded = ItemStackCodec.decode(ItemStackCodec.encode(items));
+
+        assertEquals(items.length, decoded.length);
+        assertNull(decoded[1]);
+        assertNull(decoded[2]);
+        for (final int slot : new int[]{0, 3, 4, 5, 6}) {
+            assertEquals(items[slot], decoded[slot], "slot " + slot);
+        }
+    }
+
+    @Test
+    void nonPositiveAmountsAreWrittenAsEmptySlots() {
+        final ItemStack sword = named(Material.DIAMOND_SWORD, 1, "Excalibur", 7);
+        final ItemStack[] items = {sword, sword.asQuantity(0), new ItemStack(Material.STONE, 0), sword.asQuantity(-3)};
+
+        final ItemStack[] decoded = ItemStackCodec.decode(ItemStackCodec.encode(items));
+
+        assertEquals(items.length, decoded.length);
+        assertEquals(sword, decoded[0]);
+        assertNull(decoded[1]);
+        assertNull(decoded[2]);
+        assertNull(decoded[3]);
+    }
+
+    @Test
+    void emptyStreamRoundTrips() {
+        assertEquals(0, ItemStackCodec.decode(ItemStackCodec.encode()).length);
+    }
+
+    @Test
+    void sharedTemplatesAreWrittenOnce() {
+        final ItemStack template = named(Material.DIAMOND_SWORD, 1, "Excalibur", 7);
+        final ItemStack[] items = new ItemStack[1000];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = template.asQuantity(1 + i % 64);
+        }
+
+        final int one = ItemStackCodec.encode(template).length;
+        final byte[] bytes = ItemStackCodec.encode(items);
+
+        // every repeat is a reference: tag, one byte id, one byte amount
+        assertEquals(one + (items.length - 1) * 3, bytes.length);
+        assertArrayEquals(items, ItemStackCodec.decode(bytes));
+    }
+
+    @Test
+    void dictionaryOverflowFallsBackToInline() throws IOException {
+        final List<ItemStack> items = new ArrayList<>();
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 5; i++) {
+                items.add(named(Material.PAPER, 1 + round, "Note " + i, i));
+            }
+        }
+
+        for (final int dictionarySize : new int[]{0, 1, 2, 5}) {
+            final byte[] bytes = write(items, ItemStackWriter.DEFAULT_BUFFER_SIZE, dictionarySize);
+            assertEquals(items, read(Channels.newChannel(new ByteArrayInputStream(bytes)), ItemStackWriter.DEFAULT_BUFFER_SIZE),
+                    "dictionary size " + dictionarySize);
+        }
+        assertTrue(write(items, ItemStackWriter.DEFAULT_BUFFER_SIZE, 5).length
+                < write(items, ItemStackWriter.DEFAULT_BUFFER_SIZE, 0).length);
+    }
+
+    @Test
+    void streamsAcrossBufferBoundaries() throws IOException {
+        final List<ItemStack> items = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            // records longer than the 16 byte buffers
+            items.add(i % 7 == 0 ? null : named(Material.LIGHT_BLUE_GLAZED_TERRACOTTA, 1 + i % 64, "Tile " + i % 11, i % 11));
+        }
+
+        final byte[] bytes = write(items, 16, 4);
+
+        assertEquals(items, read(trickle(bytes), 16));
+        assertEquals(items, read(Channels.newChannel(new ByteArrayInputStream(bytes)), 17));
+    }
+
+    @Test
+    void truncatedInputFails() {
+        final byte[] bytes = ItemStackCodec.encode(
+                new ItemStack(Material.STONE, 64), null, named(Material.DIAMOND_SWORD, 1, "Excalibur", 7));
+
+        for (int length = 0; length < bytes.length; length++) {
+            final byte[] truncated = Arrays.copyOf(bytes, length);
+            final UncheckedIOException e = assertThrows(UncheckedIOException.class, () -> ItemStackCodec.decode(truncated),
+                    "length " + length);
+            assertInstanceOf(EOFException.class, e.getCause(), "length " + length);
+        }
+    }
+
+    @Test
+    void corruptInputFails() {
+        assertCorrupt(stream(0x12345678, ItemStackCodec.VERSION));
+        assertCorrupt(stream(ItemStackCodec.MAGIC, (byte) 99));
+        assertCorrupt(stream(ItemStackCodec.MAGIC, ItemStackCodec.VERSION, 42, ItemStackCodec.TAG_END));
+        // reference to an id never defined
+        assertCorrupt(stream(ItemStackCodec.MAGIC, ItemStackCodec.VERSION, ItemStackCodec.TAG_REF, 3, 1, ItemStackCodec.TAG_END));
+        // dictionary ids must be sequential
+        assertCorrupt(stream(ItemStackCodec.MAGIC, ItemStackCodec.VERSION, ItemStackCodec.TAG_DEFINE, 1, 0, ItemStackCodec.TAG_END));
+        // varint longer than 5 bytes
+        assertCorrupt(stream(ItemStackCodec.MAGIC, ItemStackCodec.VERSION, ItemStackCodec.TAG_INLINE,
+                0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0x01, ItemStackCodec.TAG_END));
+        // negative length
+        assertCorrupt(stream(ItemStackCodec.MAGIC, ItemStackCodec.VERSION, ItemStackCodec.TAG_INLINE,
+                0xFF, 0xFF, 0xFF, 0xFF, 0x0F, ItemStackCodec.TAG_END));
+    }
+
+    @Test
+    void corruptLengthDoesNotAllocateUpFront() {
+        // claims a 2 GiB stack, the stream ends long before
+        final byte[] bytes = stream(ItemStackCodec.MAGIC, ItemStackCodec.VERSION, ItemStackCodec.TAG_INLINE,
+                0xFF, 0xFF, 0xFF, 0xFF, 0x07, 1, 2, 3);
+        final UncheckedIOException e = assertThrows(UncheckedIOException.class, () -> ItemStackCodec.decode(bytes));
+        assertInstanceOf(EOFException.class, e.getCause());
+    }
+
+    private static ItemStack named(final Material material, final int amount, final String name, final int model) {
+        final ItemStack item = new ItemStack(material, amount);
+        final ItemMeta meta = item.getItemMeta();
+        meta.setDisplayName(name);
+        meta.setCustomModelData(model);
+        item.setItemMeta(meta);
+        return item;
+    }
+
+    private static byte[] write(final List<ItemStack> items, final int bufferSize, final int dictionarySize) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ItemStackWriter writer = new ItemStackWriter(Channels.newChannel(bytes), bufferSize, dictionarySize)) {
+            for (final ItemStack item : items) {
+                writer.write(item);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<ItemStack> read(final ReadableByteChannel channel, final int bufferSize) throws IOException {
+        final List<ItemStack> items = new ArrayList<>();
+        try (ItemStackReader reader = new ItemStackReader(channel, bufferSize)) {
+            while (reader.hasNext()) {
+                items.add(reader.next());
+            }
+        }
+        return items;
+    }
+
+    // hands out one byte per read, so every record straddles reads
+    private static ReadableByteChannel trickle(final byte[] bytes) {
+        final ByteBuffer source = ByteBuffer.wrap(bytes);
+        return new ReadableByteChannel() {
+            private boolean open = true;
+
+            @Override
+            public int read(final ByteBuffer destination) {
+                if (!source.hasRemaining()) return -1;
+                destination.put(source.get());
+                return 1;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return open;
+            }
+
+            @Override
+            public void close() {
+                open = false;
+            }
+        };
+    }
+
+    private static byte[] stream(final int magic, final byte version, final int... records) {
+        final ByteBuffer buffer = ByteBuffer.allocate(5 + records.length);
+        buffer.putInt(magic).put(version);
+        for (final int b : records) {
+            buffer.put((byte) b);
+        }
+        return buffer.array();
+    }
+
+    private static void assertCorrupt(final byte[] bytes) {
+        final UncheckedIOException e = assertThrows(UncheckedIOException.class, () -> ItemStackCodec.decode(bytes));
+        assertInstanceOf(StreamCorruptedException.class, e.getCause());
+    }
+}
@@ -0,0 +1,130 @@
+package me.luucka.extendlibrary.util;
+
+import org.bukkit.DyeColor;
+import org.bukkit.Material;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static java.util.Map.entry;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Checks the ordinal flag table of {@link MaterialUtil} against the name sets and the color scan it replaced.
+ */
+class MaterialUtilTest {
+
+    private static final Set<Material> HELMETS = of("LEATHER_HELMET", "CHAINMAIL_HELMET", "IRON_HELMET",
+            "GOLD_HELMET", "GOLDEN_HELMET", "DIAMOND_HELMET", "NETHERITE_HELMET", "TURTLE_HELMET");
+    private static final Set<Material> CHESTPLATES = of("LEATHER_CHESTPLATE", "CHAINMAIL_CHESTPLATE",
+            "IRON_CHESTPLATE", "GOLD_CHESTPLATE", "GOLDEN_CHESTPLATE", "DIAMOND_CHESTPLATE", "NETHERITE_CHESTPLATE",
+            "ELYTRA");
+    private static final Set<Material> LEGGINGS = of("LEATHER_LEGGINGS", "CHAINMAIL_LEGGINGS",
+            "IRON_LEGGINGS", "GOLD_LEGGINGS", "GOLDEN_LEGGINGS", "DIAMOND_LEGGINGS", "NETHERITE_LEGGINGS");
+    private static final Set<Material> BOOTS = of("LEATHER_BOOTS", "CHAINMAIL_BOOTS", "IRON_BOOTS",
+            "GOLD_BOOTS", "GOLDEN_BOOTS", "DIAMOND_BOOTS", "NETHERITE_BOOTS");
+    private static final Set<Material> BEDS = of("BED", "BED_BLOCK", "WHITE_BED", "ORANGE_BED",
+            "MAGENTA_BED", "LIGHT_BLUE_BED", "YELLOW_BED", "LIME_BED", "PINK_BED", "GRAY_BED",
+            "LIGHT_GRAY_BED", "CYAN_BED", "PURPLE_BED", "BLUE_BED", "BROWN_BED", "GREEN_BED",
+            "RED_BED", "BLACK_BED");
+    private static final Set<Material> BANNERS = of("BANNER", "WHITE_BANNER",
+            "ORANGE_BANNER", "MAGENTA_BANNER", "LIGHT_BLUE_BANNER", "YELLOW_BANNER", "LIME_BANNER",
+            "PINK_BANNER", "GRAY_BANNER", "LIGHT_GRAY_BANNER", "CYAN_BANNER", "PURPLE_BANNER",
+            "BLUE_BANNER", "BROWN_BANNER", "GREEN_BANNER", "RED_BANNER", "BLACK_BANNER", "SHIELD");
+    private static final Set<Material> EDITABLE_BOOKS = of("WRITTEN_BOOK", "WRITABLE_BOOK", "BOOK_AND_QUILL");
+    private static final Set<Material> FIREWORKS = of("FIREWORK", "FIREWORK_ROCKET");
+    private static final Set<Material> FIREWORK_CHARGE = of("FIREWORK_CHARGE", "FIREWORK_STAR");
+    private static final Set<Material> LEATHER_ARMOR = of("LEATHER_HELMET",
+            "LEATHER_CHESTPLATE", "LEATHER_LEGGINGS", "LEATHER_BOOTS");
+    private static final Set<Material> LEGACY_SKULLS = of("SKULL", "SKULL_ITEM");
+    private static final Set<Material> PLAYER_HEADS = of("PLAYER_HEAD", "PLAYER_WALL_HEAD");
+    private static final Set<Material> POTIONS = of("POTION", "SPLASH_POTION", "LINGERING_POTION", "TIPPED_ARROW");
+    private static final Set<Material> SIGN_POSTS = of("SIGN", "SIGN_POST",
+            "ACACIA_SIGN", "BIRCH_SIGN", "DARK_OAK_SIGN", "JUNGLE_SIGN", "OAK_SIGN", "SPRUCE_SIGN",
+            "CRIMSON_SIGN", "WARPED_SIGN", "MANGROVE_SIGN", "CHERRY_SIGN", "BAMBOO_SIGN");
+    private static final Set<Material> WALL_SIGNS = of("WALL_SIGN",
+            "ACACIA_WALL_SIGN", "BIRCH_WALL_SIGN", "DARK_OAK_WALL_SIGN", "JUNGLE_WALL_SIGN", "OAK_WALL_SIGN",
+            "SPRUCE_WALL_SIGN", "CRIMSON_WALL_SIGN", "WARPED_WALL_SIGN", "MANGROVE_WALL_SIGN", "CHERRY_WALL_SIGN",
+            "BAMBOO_WALL_SIGN");
+    private static final Set<Material> HANGING_SIGNS = of("ACACIA_HANGING_SIGN", "BIRCH_HANGING_SIGN",
+            "DARK_OAK_HANGING_SIGN", "JUNGLE_HANGING_SIGN", "OAK_HANGING_SIGN", "SPRUCE_HANGING_SIGN",
+            "CRIMSON_HANGING_SIGN", "WARPED_HANGING_SIGN", "MANGROVE_HANGING_SIGN", "CHERRY_HANGING_SIGN",
+            "BAMBOO_HANGING_SIGN");
+    private static final Set<Material> HANGING_WALL_SIGNS = of("ACACIA_WALL_HANGING_SIGN", "BIRCH_WALL_HANGING_SIGN",
+            "DARK_OAK_WALL_HANGING_SIGN", "JUNGLE_WALL_HANGING_SIGN", "OAK_WALL_HANGING_SIGN",
+            "SPRUCE_WALL_HANGING_SIGN", "CRIMSON_WALL_HANGING_SIGN", "WARPED_WALL_HANGING_SIGN",
+            "MANGROVE_WALL_HANGING_SIGN", "CHERRY_WALL_HANGING_SIGN", "BAMBOO_WALL_HANGING_SIGN");
+
+    @Test
+    void predicatesMatchTheSetsForEveryMaterial() {
+        final Map<String, Map.Entry<Predicate<Material>, Predicate<Material>>> predicates = Map.ofEntries(
+                entry("isHelmet", entry(MaterialUtil::isHelmet, HELMETS::contains)),
+                entry("isChestplate", entry(MaterialUtil::isChestplate, CHESTPLATES::contains)),
+                entry("isLeggings", entry(MaterialUtil::isLeggings, LEGGINGS::contains)),
+                entry("isBoots", entry(MaterialUtil::isBoots, BOOTS::contains)),
+                entry("isBed", entry(MaterialUtil::isBed, BEDS::contains)),
+                entry("isBanner", entry(MaterialUtil::isBanner, BANNERS::contains)),
+                entry("isFirework", entry(MaterialUtil::isFirework, FIREWORKS::contains)),
+                entry("isFireworkCharge", entry(MaterialUtil::isFireworkCharge, FIREWORK_CHARGE::contains)),
+                entry("isLeatherArmor", entry(MaterialUtil::isLeatherArmor, LEATHER_ARMOR::contains)),
+                entry("isPotion", entry(MaterialUtil::isPotion, POTIONS::contains)),
+                entry("isSignPost", entry(MaterialUtil::isSignPost, SIGN_POSTS::contains)),
+                entry("isWallSign", entry(MaterialUtil::isWallSign, WALL_SIGNS::contains)),
+                entry("isHangingSign", entry(MaterialUtil::isHangingSign, HANGING_SIGNS::contains)),
+                entry("isWallHangingSign", entry(MaterialUtil::isWallHangingSign, HANGING_WALL_SIGNS::contains)),
+                entry("isEditableBook", entry(MaterialUtil::isEditableBook, EDITABLE_BOOKS::contains)),
+                entry("isSign", entry(MaterialUtil::isSign, material -> SIGN_POSTS.contains(material)
+                        || WALL_SIGNS.contains(material) || HANGING_SIGNS.contains(material) || HANGING_WALL_SIGNS.contains(material))),
+                entry("isSkull", entry(MaterialUtil::isSkull, material -> PLAYER_HEADS.contains(material) || LEGACY_SKULLS.contains(material)))
+        );
+
+        for (final Material material : Material.values()) {
+            predicates.forEach((name, predicate) ->
+                    assertEquals(predicate.getValue().test(material), predicate.getKey().test(material), name + "(" + material + ")"));
+        }
+    }
+
+    @Test
+    void predicatesRejectNull() {
+        assertFalse(MaterialUtil.isHelmet(null));
+        assertFalse(MaterialUtil.isBed(null));
+        assertFalse(MaterialUtil.isSign(null));
+        assertFalse(MaterialUtil.isSkull(null));
+        assertFalse(MaterialUtil.isPotion(null));
+        assertFalse(MaterialUtil.isEditableBook(null));
+    }
+
+    @Test
+    void colorsMatchTheNameScanForEveryMaterial() {
+        for (final Material material : Material.values()) {
+            assertEquals(scanColor(material), MaterialUtil.getColorOf(material), material.name());
+        }
+    }
+
+    // the lookup the flag table replaced
+    private static DyeColor scanColor(final Material material) {
+        for (final DyeColor color : DyeColor.values()) {
+            if (material.toString().contains(color.name())) {
+                return color;
+            }
+        }
+        return DyeColor.WHITE;
+    }
+
+    // resolved with valueOf, independent of EnumUtil
+    private static Set<Material> of(final String... names) {
+        final Set<Material> set = EnumSet.noneOf(Material.class);
+        for (final String name : names) {
+            try {
+                set.add(Material.valueOf(name));
+            } catch (final IllegalArgumentException ignored) {
+                // not on this version
+            }
+        }
+        return set;
+    }
+}